@@ -0,0 +1,80 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.badlogic.gdx.audio.Music;
+
+/**
+ * {@link Music} that doesn't output anything, so benchmarks measure Parrot instead of an audio backend. It only keeps the state queried by
+ * the music player.
+ */
+public class BenchmarkMusic implements Music {
+    private boolean playing;
+    private boolean looping;
+    private float volume = 1;
+    private float position;
+
+    @Override
+    public void play() {
+        playing = true;
+    }
+
+    @Override
+    public void pause() {
+        playing = false;
+    }
+
+    @Override
+    public void stop() {
+        playing = false;
+        position = 0;
+    }
+
+    @Override
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    @Override
+    public void setLooping(boolean isLooping) {
+        this.looping = isLooping;
+    }
+
+    @Override
+    public boolean isLooping() {
+        return looping;
+    }
+
+    @Override
+    public void setVolume(float volume) {
+        this.volume = volume;
+    }
+
+    @Override
+    public float getVolume() {
+        return volume;
+    }
+
+    @Override
+    public void setPan(float pan, float volume) {
+        this.volume = volume;
+    }
+
+    @Override
+    public void setPosition(float position) {
+        this.position = position;
+    }
+
+    @Override
+    public float getPosition() {
+        return position;
+    }
+
+    @Override
+    public void dispose() {
+        playing = false;
+    }
+
+    @Override
+    public void setOnCompletionListener(OnCompletionListener listener) {
+    }
+
+}
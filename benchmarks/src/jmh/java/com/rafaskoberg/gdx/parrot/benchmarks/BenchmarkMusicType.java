@@ -0,0 +1,26 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.badlogic.gdx.audio.Music;
+import com.rafaskoberg.gdx.parrot.music.ParrotMusicType;
+
+/**
+ * {@link ParrotMusicType} backed by its own {@link BenchmarkMusic}.
+ */
+public class BenchmarkMusicType implements ParrotMusicType {
+    private final Music music;
+
+    public BenchmarkMusicType() {
+        this.music = new BenchmarkMusic();
+    }
+
+    @Override
+    public Music getMusic() {
+        return music;
+    }
+
+    @Override
+    public float getRelativeVolume() {
+        return 1.0f;
+    }
+
+}
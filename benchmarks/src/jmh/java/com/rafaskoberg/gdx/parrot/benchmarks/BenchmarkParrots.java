@@ -0,0 +1,31 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.backend.MockParrotBackend;
+
+/**
+ * Creates the {@link Parrot} instances used by benchmarks.
+ */
+public class BenchmarkParrots {
+    /** Delta of each simulated frame, in seconds. */
+    public static final float DELTA = 1.0f / 60.0f;
+
+    /** Duration reported for every sound, in seconds. */
+    public static final float SOUND_DURATION = 1.0f;
+
+    /** Side of the square area where spatial sounds are scattered. */
+    public static final float WORLD_SIZE = 64.0f;
+
+    /**
+     * Returns a new {@link Parrot} running on a {@link MockParrotBackend} with unlimited native sources and cheap parameter updates, so
+     * no work is skipped because of the backend.
+     */
+    public static Parrot create() {
+        MockParrotBackend backend = new MockParrotBackend();
+        backend.setDefaultSoundDuration(SOUND_DURATION);
+        Parrot parrot = new Parrot();
+        parrot.setBackend(backend);
+        return parrot;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * {@link Sound} that doesn't output anything, so benchmarks measure Parrot instead of an audio backend. Each play returns a new ID.
+ */
+public class BenchmarkSound implements Sound {
+    private long nextId;
+
+    @Override
+    public long play() {
+        return nextId++;
+    }
+
+    @Override
+    public long play(float volume) {
+        return nextId++;
+    }
+
+    @Override
+    public long play(float volume, float pitch, float pan) {
+        return nextId++;
+    }
+
+    @Override
+    public long loop() {
+        return nextId++;
+    }
+
+    @Override
+    public long loop(float volume) {
+        return nextId++;
+    }
+
+    @Override
+    public long loop(float volume, float pitch, float pan) {
+        return nextId++;
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    @Override
+    public void stop(long soundId) {
+    }
+
+    @Override
+    public void pause(long soundId) {
+    }
+
+    @Override
+    public void resume(long soundId) {
+    }
+
+    @Override
+    public void setLooping(long soundId, boolean looping) {
+    }
+
+    @Override
+    public void setPitch(long soundId, float pitch) {
+    }
+
+    @Override
+    public void setVolume(long soundId, float volume) {
+    }
+
+    @Override
+    public void setPan(long soundId, float pan, float volume) {
+    }
+
+}
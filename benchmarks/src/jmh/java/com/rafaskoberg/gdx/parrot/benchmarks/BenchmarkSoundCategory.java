@@ -0,0 +1,26 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.rafaskoberg.gdx.parrot.sfx.ParrotSoundCategory;
+
+/**
+ * {@link ParrotSoundCategory} configured by the benchmark scenarios.
+ */
+public class BenchmarkSoundCategory implements ParrotSoundCategory {
+    private final int voices;
+    private final boolean isSpatial;
+
+    public BenchmarkSoundCategory(int voices, boolean isSpatial) {
+        this.voices = voices;
+        this.isSpatial = isSpatial;
+    }
+
+    @Override
+    public int getVoices() {
+        return voices;
+    }
+
+    @Override
+    public boolean isSpatial() {
+        return isSpatial;
+    }
+}
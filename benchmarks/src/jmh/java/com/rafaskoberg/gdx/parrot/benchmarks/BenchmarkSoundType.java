@@ -0,0 +1,63 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.rafaskoberg.gdx.parrot.sfx.ParrotSoundCategory;
+import com.rafaskoberg.gdx.parrot.sfx.ParrotSoundType;
+import com.rafaskoberg.gdx.parrot.sfx.PlaybackMode;
+import com.rafaskoberg.gdx.parrot.util.NonRandomShuffle;
+
+/**
+ * {@link ParrotSoundType} configured by the benchmark scenarios, picking between a few {@link BenchmarkSound}s.
+ */
+public class BenchmarkSoundType implements ParrotSoundType {
+    private final Array<Sound> sounds;
+    private final ParrotSoundCategory category;
+    private final int voices;
+    private final PlaybackMode playbackMode;
+    private final NonRandomShuffle<Sound> nonRandomShuffle;
+
+    public BenchmarkSoundType(ParrotSoundCategory category, int voices, PlaybackMode playbackMode) {
+        this.sounds = new Array<>();
+        this.category = category;
+        this.voices = voices;
+        this.playbackMode = playbackMode;
+        this.nonRandomShuffle = new NonRandomShuffle<>(1.0f);
+        for(int i = 0; i < 4; i++) {
+            Sound sound = new BenchmarkSound();
+            sounds.add(sound);
+            nonRandomShuffle.addValue(sound);
+        }
+    }
+
+    @Override
+    public Array<Sound> getSounds() {
+        return sounds;
+    }
+
+    @Override
+    public ParrotSoundCategory getCategory() {
+        return category;
+    }
+
+    @Override
+    public int getVoices() {
+        return voices;
+    }
+
+    @Override
+    public float getPitch() {
+        return 1.0f;
+    }
+
+    @Override
+    public PlaybackMode getPlaybackMode() {
+        return playbackMode;
+    }
+
+    @Override
+    public NonRandomShuffle<Sound> getNonRandomShuffle() {
+        return nonRandomShuffle;
+    }
+
+}
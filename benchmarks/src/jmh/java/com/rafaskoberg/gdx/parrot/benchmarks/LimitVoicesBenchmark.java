@@ -0,0 +1,77 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.sfx.PlaybackMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Measures playing a sound once its type or category is already at its voice limit, so every play has to stop the least important voice.
+ * Death fade outs are disabled and a frame is updated after each play, so stopped voices are removed right away and the amount of live
+ * voices stays constant. Compare with {@link UpdateSoundsBenchmark} to tell the cost of the update apart.
+ */
+@State(Scope.Thread)
+public class LimitVoicesBenchmark {
+    @Param({"8", "64", "512"})
+    public int liveVoices;
+
+    @Param({"type", "category"})
+    public String limitBy;
+
+    @Param({"true", "false"})
+    public boolean spatial;
+
+    private Parrot parrot;
+    private BenchmarkSoundType type;
+    private float[] positionX;
+    private float[] positionY;
+    private int nextPosition;
+
+    @Setup
+    public void setup() {
+        parrot = BenchmarkParrots.create();
+        parrot.getSettings().soundDeathFadeOut = 0;
+
+        // Limit voices either by type or by category
+        boolean byType = "type".equals(limitBy);
+        int categoryVoices = byType ? Integer.MAX_VALUE : liveVoices;
+        int typeVoices = byType ? liveVoices : Integer.MAX_VALUE;
+        BenchmarkSoundCategory category = new BenchmarkSoundCategory(categoryVoices, spatial);
+        type = new BenchmarkSoundType(category, typeVoices, PlaybackMode.ETERNAL);
+
+        // Precompute positions, so they don't take part in the measurements
+        Random random = new Random(42);
+        positionX = new float[liveVoices];
+        positionY = new float[liveVoices];
+        for(int i = 0; i < liveVoices; i++) {
+            positionX[i] = random.nextFloat() * BenchmarkParrots.WORLD_SIZE;
+            positionY[i] = random.nextFloat() * BenchmarkParrots.WORLD_SIZE;
+        }
+
+        // Fill voices up to the limit
+        for(int i = 0; i < liveVoices; i++) {
+            parrot.playSound(type, positionX[i], positionY[i]);
+        }
+        parrot.updateSounds(BenchmarkParrots.DELTA);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parrot.killAllSounds();
+    }
+
+    @Benchmark
+    public void playOverLimit() {
+        int position = nextPosition;
+        nextPosition = (nextPosition + 1) % liveVoices;
+        parrot.playSound(type, positionX[position], positionY[position]);
+        parrot.updateSounds(BenchmarkParrots.DELTA);
+    }
+
+}
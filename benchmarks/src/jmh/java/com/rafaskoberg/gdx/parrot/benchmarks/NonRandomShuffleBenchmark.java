@@ -0,0 +1,36 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.rafaskoberg.gdx.parrot.util.NonRandomShuffle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures picking the next value of a {@link NonRandomShuffle}, which happens on every play of a sound type without a fixed sound index.
+ */
+@State(Scope.Thread)
+public class NonRandomShuffleBenchmark {
+    @Param({"2", "8", "32"})
+    public int values;
+
+    @Param({"0.5", "1.0"})
+    public float dropOffMultiplier;
+
+    private NonRandomShuffle<Integer> shuffle;
+
+    @Setup
+    public void setup() {
+        shuffle = new NonRandomShuffle<>(dropOffMultiplier);
+        for(int i = 0; i < values; i++) {
+            shuffle.addValue(i);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return shuffle.get();
+    }
+
+}
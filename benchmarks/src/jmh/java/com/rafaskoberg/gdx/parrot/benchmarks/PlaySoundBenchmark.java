@@ -0,0 +1,88 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.sfx.PlaybackMode;
+import com.rafaskoberg.gdx.parrot.sfx.SoundBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Measures frames in which short one-shot sounds are played, either one by one through
+ * {@link com.rafaskoberg.gdx.parrot.sfx.SoundPlayerImpl#playSound} or at once through a {@link SoundBatch}. Types are voice limited, so
+ * after warming up every frame also stops older voices and kills the ones that faded out.
+ */
+@State(Scope.Thread)
+public class PlaySoundBenchmark {
+    private static final int POSITIONS = 1024;
+
+    @Param({"1", "16", "128"})
+    public int playsPerFrame;
+
+    @Param({"true", "false"})
+    public boolean spatial;
+
+    @Param({"32"})
+    public int voicesPerType;
+
+    private Parrot parrot;
+    private BenchmarkSoundType type;
+    private SoundBatch batch;
+    private float[] positionX;
+    private float[] positionY;
+    private int nextPosition;
+
+    @Setup
+    public void setup() {
+        parrot = BenchmarkParrots.create();
+        BenchmarkSoundCategory category = new BenchmarkSoundCategory(Integer.MAX_VALUE, spatial);
+        type = new BenchmarkSoundType(category, voicesPerType, PlaybackMode.NORMAL);
+        batch = new SoundBatch(playsPerFrame);
+
+        // Precompute positions, so they don't take part in the measurements
+        Random random = new Random(42);
+        positionX = new float[POSITIONS];
+        positionY = new float[POSITIONS];
+        for(int i = 0; i < POSITIONS; i++) {
+            positionX[i] = random.nextFloat() * BenchmarkParrots.WORLD_SIZE;
+            positionY[i] = random.nextFloat() * BenchmarkParrots.WORLD_SIZE;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        parrot.killAllSounds();
+    }
+
+    @Benchmark
+    public void playSound() {
+        for(int i = 0; i < playsPerFrame; i++) {
+            int position = nextPosition();
+            parrot.playSound(type, positionX[position], positionY[position]);
+        }
+        parrot.updateSounds(BenchmarkParrots.DELTA);
+    }
+
+    @Benchmark
+    public void playSounds() {
+        batch.clear();
+        for(int i = 0; i < playsPerFrame; i++) {
+            int position = nextPosition();
+            batch.add(type, positionX[position], positionY[position]);
+        }
+        parrot.playSounds(batch);
+        parrot.updateSounds(BenchmarkParrots.DELTA);
+    }
+
+    private int nextPosition() {
+        int position = nextPosition;
+        nextPosition = (nextPosition + 1) % POSITIONS;
+        return position;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.rafaskoberg.gdx.parrot.Parrot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a single frame of {@link com.rafaskoberg.gdx.parrot.music.MusicPlayerImpl#updateMusic(float)}, with one track per channel
+ * either playing steadily or fading in for the whole benchmark.
+ */
+@State(Scope.Thread)
+public class UpdateMusicBenchmark {
+    @Param({"1", "4", "16"})
+    public int channels;
+
+    @Param({"true", "false"})
+    public boolean fading;
+
+    private Parrot parrot;
+
+    @Setup
+    public void setup() {
+        parrot = BenchmarkParrots.create();
+        if(fading) {
+            // Make fades last longer than any benchmark run
+            parrot.getSettings().musicFadeInDuration = Float.MAX_VALUE;
+        }
+        for(int channel = 0; channel < channels; channel++) {
+            parrot.playMusic(new BenchmarkMusicType(), true, fading, 0, channel, -1);
+        }
+        parrot.updateMusic(BenchmarkParrots.DELTA);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parrot.stopAllMusic(false);
+    }
+
+    @Benchmark
+    public void updateMusic() {
+        parrot.updateMusic(BenchmarkParrots.DELTA);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.rafaskoberg.gdx.parrot.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.sfx.PlaybackMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Measures a single frame of {@link com.rafaskoberg.gdx.parrot.sfx.SoundPlayerImpl#updateSounds(float)} with a steady amount of live
+ * voices, while the listener walks around and continuous emitters are kept alive.
+ */
+@State(Scope.Thread)
+public class UpdateSoundsBenchmark {
+    @Param({"16", "256", "2048"})
+    public int voices;
+
+    @Param({"true", "false"})
+    public boolean spatial;
+
+    @Param({"0", "32"})
+    public int continuousEmitters;
+
+    private Parrot parrot;
+    private Array<BenchmarkSoundType> emitterTypes;
+    private float[] emitterX;
+    private float[] emitterY;
+    private float listenerAngle;
+
+    @Setup
+    public void setup() {
+        parrot = BenchmarkParrots.create();
+        Random random = new Random(42);
+        float size = BenchmarkParrots.WORLD_SIZE;
+
+        // Looping sounds, which stay alive for the whole benchmark
+        BenchmarkSoundCategory category = new BenchmarkSoundCategory(Integer.MAX_VALUE, spatial);
+        BenchmarkSoundType loopType = new BenchmarkSoundType(category, Integer.MAX_VALUE, PlaybackMode.ETERNAL);
+        for(int i = 0; i < voices; i++) {
+            parrot.playSound(loopType, random.nextFloat() * size, random.nextFloat() * size);
+        }
+
+        // Continuous emitters, each one sharing a single voice of its own type
+        emitterTypes = new Array<>(continuousEmitters);
+        emitterX = new float[continuousEmitters];
+        emitterY = new float[continuousEmitters];
+        for(int i = 0; i < continuousEmitters; i++) {
+            emitterTypes.add(new BenchmarkSoundType(category, 1, PlaybackMode.CONTINUOUS));
+            emitterX[i] = random.nextFloat() * size;
+            emitterY[i] = random.nextFloat() * size;
+        }
+        touchEmitters();
+
+        // Start all sounds, so the benchmark measures steady frames
+        parrot.updateSounds(BenchmarkParrots.DELTA);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parrot.killAllSounds();
+    }
+
+    @Benchmark
+    public void updateSounds() {
+        // Walk the listener in circles, so spatial factors change every frame
+        listenerAngle += BenchmarkParrots.DELTA;
+        float center = BenchmarkParrots.WORLD_SIZE * 0.5f;
+        float x = center + (float) Math.cos(listenerAngle) * center * 0.5f;
+        float y = center + (float) Math.sin(listenerAngle) * center * 0.5f;
+        parrot.setSpatialListenerCoordinates(x, y);
+
+        touchEmitters();
+        parrot.updateSounds(BenchmarkParrots.DELTA);
+    }
+
+    private void touchEmitters() {
+        for(int i = 0; i < emitterTypes.size; i++) {
+            parrot.playSound(emitterTypes.get(i), emitterX[i], emitterY[i]);
+        }
+    }
+
+}
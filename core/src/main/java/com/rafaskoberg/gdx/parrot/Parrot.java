@@ -1,8 +1,11 @@
 package com.rafaskoberg.gdx.parrot;
 
+import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.rafaskoberg.boom.Boom;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackend;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackends;
 import com.rafaskoberg.gdx.parrot.music.MusicInstance;
 import com.rafaskoberg.gdx.parrot.music.MusicPlayer;
 import com.rafaskoberg.gdx.parrot.music.MusicPlayerImpl;
@@ -10,6 +13,7 @@ import com.rafaskoberg.gdx.parrot.music.ParrotMusicType;
 import com.rafaskoberg.gdx.parrot.sfx.ParrotSoundCategory;
 import com.rafaskoberg.gdx.parrot.sfx.ParrotSoundType;
 import com.rafaskoberg.gdx.parrot.sfx.PlaybackMode;
+import com.rafaskoberg.gdx.parrot.sfx.SoundBatch;
 import com.rafaskoberg.gdx.parrot.sfx.SoundInstance;
 import com.rafaskoberg.gdx.parrot.sfx.SoundPlayer;
 import com.rafaskoberg.gdx.parrot.sfx.SoundPlayerImpl;
@@ -19,6 +23,9 @@ import com.rafaskoberg.gdx.parrot.sfx.SoundPlayerImpl;
  */
 public class Parrot implements SoundPlayer, MusicPlayer {
     protected ParrotSettings settings;
+    protected ParrotClock clock;
+    protected ParrotBackend backend;
+    protected ParrotMetrics metrics;
     protected SoundPlayer soundPlayer;
     protected MusicPlayer musicPlayer;
 
@@ -27,6 +34,9 @@ public class Parrot implements SoundPlayer, MusicPlayer {
      */
     public Parrot() {
         this.settings = new ParrotSettings();
+        this.clock = new ParrotClock.DeltaClock();
+        this.backend = ParrotBackends.probe();
+        this.metrics = new ParrotMetrics();
         this.soundPlayer = new SoundPlayerImpl(this);
         this.musicPlayer = new MusicPlayerImpl(this);
     }
@@ -38,6 +48,46 @@ public class Parrot implements SoundPlayer, MusicPlayer {
         return settings;
     }
 
+    /**
+     * Returns the {@link ParrotClock} used to measure time between sound updates. Defaults to a {@link ParrotClock.DeltaClock}.
+     */
+    public ParrotClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the {@link ParrotClock} used to measure time between sound updates. The new clock is sampled on the next update, so its time
+     * should not be behind the previous clock's.
+     */
+    public void setClock(ParrotClock clock) {
+        if(clock == null) throw new IllegalArgumentException("clock cannot be null.");
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the {@link ParrotBackend} describing the capabilities of the libGDX backend this app is running on. It's probed once, when
+     * this instance is created.
+     */
+    public ParrotBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Overrides the {@link ParrotBackend} chosen while probing, e.g. to report a custom amount of native sources or to use a
+     * {@link com.rafaskoberg.gdx.parrot.backend.MockParrotBackend} in tests. Sound durations resolved so far are forgotten.
+     */
+    public void setBackend(ParrotBackend backend) {
+        if(backend == null) throw new IllegalArgumentException("backend cannot be null.");
+        this.backend = backend;
+    }
+
+    /**
+     * Returns the {@link ParrotMetrics} describing the work done by the sound and music players.
+     */
+    public ParrotMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Updates all music and sound effects handled by Parrot. Must be called constantly.
      *
@@ -76,6 +126,26 @@ public class Parrot implements SoundPlayer, MusicPlayer {
         soundPlayer.setSpatialListenerCoordinates(x, y);
     }
 
+    @Override
+    public int getSpatialListenerCount() {
+        return soundPlayer.getSpatialListenerCount();
+    }
+
+    @Override
+    public void setSpatialListenerCount(int count) {
+        soundPlayer.setSpatialListenerCount(count);
+    }
+
+    @Override
+    public Vector2 getSpatialListenerCoordinates(int listener) {
+        return soundPlayer.getSpatialListenerCoordinates(listener);
+    }
+
+    @Override
+    public void setSpatialListenerCoordinates(int listener, float x, float y) {
+        soundPlayer.setSpatialListenerCoordinates(listener, x, y);
+    }
+
     @Override
     public void updateSounds(float delta) {
         soundPlayer.updateSounds(delta);
@@ -86,6 +156,36 @@ public class Parrot implements SoundPlayer, MusicPlayer {
         return soundPlayer.playSound(type, soundIndex, x, y, volumeFactor, pitch, mode, boomChannel);
     }
 
+    @Override
+    public int playSounds(SoundBatch batch) {
+        return soundPlayer.playSounds(batch);
+    }
+
+    @Override
+    public long queuePlaySound(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel) {
+        return soundPlayer.queuePlaySound(type, soundIndex, x, y, volumeFactor, pitch, mode, boomChannel);
+    }
+
+    @Override
+    public boolean queueStopSound(long id) {
+        return soundPlayer.queueStopSound(id);
+    }
+
+    @Override
+    public boolean queueKillSound(long id) {
+        return soundPlayer.queueKillSound(id);
+    }
+
+    @Override
+    public boolean queueTouchSound(long id) {
+        return soundPlayer.queueTouchSound(id);
+    }
+
+    @Override
+    public boolean queueSoundCoordinates(long id, float x, float y) {
+        return soundPlayer.queueSoundCoordinates(id, x, y);
+    }
+
     @Override
     public SoundInstance getSound(long internalId) {
         return soundPlayer.getSound(internalId);
@@ -96,6 +196,16 @@ public class Parrot implements SoundPlayer, MusicPlayer {
         return soundPlayer.getAllSounds();
     }
 
+    @Override
+    public int getSoundsInRadius(float x, float y, float radius, Array<SoundInstance> out) {
+        return soundPlayer.getSoundsInRadius(x, y, radius, out);
+    }
+
+    @Override
+    public int getSoundsInRegion(float minX, float minY, float maxX, float maxY, Array<SoundInstance> out) {
+        return soundPlayer.getSoundsInRegion(minX, minY, maxX, maxY, out);
+    }
+
     @Override
     public void setSoundCoordinates(SoundInstance soundInstance, float x, float y) {
         soundPlayer.setSoundCoordinates(soundInstance, x, y);
@@ -146,6 +256,21 @@ public class Parrot implements SoundPlayer, MusicPlayer {
         soundPlayer.killAllSounds();
     }
 
+    @Override
+    public void killSound(SoundInstance soundInstance) {
+        soundPlayer.killSound(soundInstance);
+    }
+
+    @Override
+    public void setSoundDuration(Sound sound, float duration) {
+        soundPlayer.setSoundDuration(sound, duration);
+    }
+
+    @Override
+    public void forgetSound(Sound sound) {
+        soundPlayer.forgetSound(sound);
+    }
+
     @Override
     public float getMusicPlayerVolume() {
         return musicPlayer.getMusicPlayerVolume();
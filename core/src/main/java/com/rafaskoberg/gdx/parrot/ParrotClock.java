@@ -0,0 +1,63 @@
+package com.rafaskoberg.gdx.parrot;
+
+import com.rafaskoberg.gdx.parrot.sfx.PlaybackMode;
+
+/**
+ * Monotonic clock used by Parrot to measure things such as {@link PlaybackMode#CONTINUOUS continuous} timeouts and death fades. The clock
+ * is advanced and sampled once at the beginning of every sound update, so every sound sees the same time during a frame.
+ * <p>
+ * Defaults to a {@link DeltaClock}, which accumulates the deltas passed to {@link Parrot#update(float)}. Custom clocks can be set through
+ * {@link Parrot#setClock(ParrotClock)}, e.g. to drive time manually in tests.
+ */
+public interface ParrotClock {
+
+    /**
+     * Advances this clock. Called once at the beginning of every sound update.
+     *
+     * @param delta Time in seconds since the last update.
+     */
+    void update(float delta);
+
+    /**
+     * Returns the current time of this clock in nanoseconds. Must never go backwards.
+     */
+    long getTime();
+
+    /**
+     * Clock that accumulates the deltas it receives. Pausing the updates also pauses this clock.
+     */
+    class DeltaClock implements ParrotClock {
+        private long time;
+
+        @Override
+        public void update(float delta) {
+            if(delta > 0) {
+                time += (long) (delta * 1_000_000_000.0);
+            }
+        }
+
+        @Override
+        public long getTime() {
+            return time;
+        }
+    }
+
+    /**
+     * Clock based on {@link System#nanoTime()}, which keeps running regardless of the deltas it receives.
+     */
+    class SystemClock implements ParrotClock {
+        private final long origin = System.nanoTime();
+        private long time;
+
+        @Override
+        public void update(float delta) {
+            time = Math.max(time, System.nanoTime() - origin);
+        }
+
+        @Override
+        public long getTime() {
+            return time;
+        }
+    }
+
+}
@@ -0,0 +1,411 @@
+package com.rafaskoberg.gdx.parrot;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.PerformanceCounter;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pools;
+import com.rafaskoberg.gdx.parrot.sfx.ParrotSoundCategory;
+import com.rafaskoberg.gdx.parrot.sfx.SoundInstance;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters, gauges and timings describing the work done by the sound and music players. Obtained through {@link Parrot#getMetrics()}.
+ * <p>
+ * Counters accumulate until {@link #reset()} is called, while gauges always reflect the current state. Nothing is allocated while
+ * recording.
+ */
+public class ParrotMetrics {
+
+    /**
+     * Reasons why a play request didn't create a sound.
+     */
+    public enum PlayRejection {
+        /** The sound type had no sounds to play. */
+        NO_SOUND,
+        /** The sound was ignored by the "Ignore Distant Tiny Sounds" feature. */
+        DISTANT_TINY_SOUND,
+        /** The global voice budget was full and no voice could be stolen. */
+        VOICE_BUDGET,
+        /** The command queue was full. */
+        QUEUE_FULL
+    }
+
+    /**
+     * Calls made to the native {@link com.badlogic.gdx.audio.Sound} API.
+     */
+    public enum NativeCall {
+        PLAY,
+        LOOP,
+        SET_PAN,
+        SET_PITCH,
+        STOP
+    }
+
+    private static final PlayRejection[] PLAY_REJECTIONS = PlayRejection.values();
+    private static final NativeCall[] NATIVE_CALLS = NativeCall.values();
+
+    // Counters
+    private long playsRequested;
+    private long playsAccepted;
+    private long playsMerged;
+    private final long[] playsRejected;
+    private final AtomicLong playsRejectedByQueue;
+    private long voicesStolen;
+    private long voicesLimited;
+    private final long[] nativeCalls;
+    private long nativeUpdatesSkipped;
+
+    // Gauges
+    private final ObjectIntMap<ParrotSoundCategory> liveSoundsByCategory;
+
+    // Timings
+    private final Timing soundUpdateTiming;
+    private final Timing musicUpdateTiming;
+
+    public ParrotMetrics() {
+        this(120);
+    }
+
+    /**
+     * @param timingWindow Amount of recent updates considered by timings.
+     */
+    public ParrotMetrics(int timingWindow) {
+        this.playsRejected = new long[PLAY_REJECTIONS.length];
+        this.playsRejectedByQueue = new AtomicLong();
+        this.nativeCalls = new long[NATIVE_CALLS.length];
+        this.liveSoundsByCategory = new ObjectIntMap<>();
+        this.soundUpdateTiming = new Timing(timingWindow);
+        this.musicUpdateTiming = new Timing(timingWindow);
+    }
+
+    /**
+     * Records a play request, before it's either accepted, merged or rejected.
+     */
+    public void recordPlayRequested() {
+        playsRequested++;
+    }
+
+    /**
+     * Records a play request that created a new sound.
+     */
+    public void recordPlayAccepted() {
+        playsAccepted++;
+    }
+
+    /**
+     * Records a play request that was merged into an existing sound, either a continuous or a coalesced one.
+     */
+    public void recordPlayMerged() {
+        playsMerged++;
+    }
+
+    /**
+     * Records a play request that didn't create a sound. Thread-safe for {@link PlayRejection#QUEUE_FULL}.
+     */
+    public void recordPlayRejected(PlayRejection reason) {
+        if(reason == PlayRejection.QUEUE_FULL) {
+            playsRejectedByQueue.incrementAndGet();
+        } else {
+            playsRejected[reason.ordinal()]++;
+        }
+    }
+
+    /**
+     * Records a voice stolen to respect the global voice budget.
+     */
+    public void recordVoiceStolen() {
+        voicesStolen++;
+    }
+
+    /**
+     * Records a voice stopped to respect the voice limit of a type or category.
+     */
+    public void recordVoiceLimited() {
+        voicesLimited++;
+    }
+
+    /**
+     * Records a call to the native sound API.
+     */
+    public void recordNativeCall(NativeCall call) {
+        nativeCalls[call.ordinal()]++;
+    }
+
+    /**
+     * Records a volume and pan update held back for being too small. See {@link ParrotSettings#soundVolumeUpdateThreshold}.
+     */
+    public void recordNativeUpdateSkipped() {
+        nativeUpdatesSkipped++;
+    }
+
+    /**
+     * Adds the given amount to the live sounds of a category.
+     */
+    public void addLiveSounds(ParrotSoundCategory category, int amount) {
+        if(category != null) liveSoundsByCategory.getAndIncrement(category, 0, amount);
+    }
+
+    public long getPlaysRequested() {
+        return playsRequested;
+    }
+
+    public long getPlaysAccepted() {
+        return playsAccepted;
+    }
+
+    public long getPlaysMerged() {
+        return playsMerged;
+    }
+
+    /**
+     * Returns the amount of play requests rejected for the given reason.
+     */
+    public long getPlaysRejected(PlayRejection reason) {
+        if(reason == PlayRejection.QUEUE_FULL) return playsRejectedByQueue.get();
+        return playsRejected[reason.ordinal()];
+    }
+
+    /**
+     * Returns the amount of play requests rejected for any reason.
+     */
+    public long getPlaysRejected() {
+        long total = playsRejectedByQueue.get();
+        for(long rejected : playsRejected) {
+            total += rejected;
+        }
+        return total;
+    }
+
+    public long getVoicesStolen() {
+        return voicesStolen;
+    }
+
+    public long getVoicesLimited() {
+        return voicesLimited;
+    }
+
+    /**
+     * Returns the amount of calls of the given kind made to the native sound API.
+     */
+    public long getNativeCalls(NativeCall call) {
+        return nativeCalls[call.ordinal()];
+    }
+
+    /**
+     * Returns the amount of calls of any kind made to the native sound API.
+     */
+    public long getNativeCalls() {
+        long total = 0;
+        for(long calls : nativeCalls) {
+            total += calls;
+        }
+        return total;
+    }
+
+    public long getNativeUpdatesSkipped() {
+        return nativeUpdatesSkipped;
+    }
+
+    /**
+     * Returns the amount of sounds of the given category currently handled by the sound player, including sounds fading out.
+     */
+    public int getLiveSounds(ParrotSoundCategory category) {
+        return liveSoundsByCategory.get(category, 0);
+    }
+
+    /**
+     * Returns the amount of {@link SoundInstance}s waiting to be reused in their pool.
+     */
+    public int getSoundInstancePoolFree() {
+        return getSoundInstancePool().getFree();
+    }
+
+    /**
+     * Returns the highest amount of {@link SoundInstance}s ever waiting to be reused in their pool.
+     */
+    public int getSoundInstancePoolPeak() {
+        return getSoundInstancePool().peak;
+    }
+
+    /**
+     * Returns the timing of {@link Parrot#updateSounds(float)}.
+     */
+    public Timing getSoundUpdateTiming() {
+        return soundUpdateTiming;
+    }
+
+    /**
+     * Returns the timing of {@link Parrot#updateMusic(float)}.
+     */
+    public Timing getMusicUpdateTiming() {
+        return musicUpdateTiming;
+    }
+
+    /**
+     * Resets all counters and timings. Gauges are kept.
+     */
+    public void reset() {
+        playsRequested = 0;
+        playsAccepted = 0;
+        playsMerged = 0;
+        Arrays.fill(playsRejected, 0);
+        playsRejectedByQueue.set(0);
+        voicesStolen = 0;
+        voicesLimited = 0;
+        Arrays.fill(nativeCalls, 0);
+        nativeUpdatesSkipped = 0;
+        soundUpdateTiming.reset();
+        musicUpdateTiming.reset();
+    }
+
+    /**
+     * Clears all gauges. Used when all sounds are disposed.
+     */
+    public void clearLiveSounds() {
+        liveSoundsByCategory.clear();
+    }
+
+    private static Pool<SoundInstance> getSoundInstancePool() {
+        return Pools.get(SoundInstance.class);
+    }
+
+    /**
+     * Durations in nanoseconds of the most recent executions of an operation, kept in a fixed-size rolling window.
+     */
+    public static class Timing {
+        private final long[] samples;
+        private final long[] sorted;
+        private int count;
+        private int next;
+        private boolean sortedValid;
+        private long last;
+        private PerformanceCounter performanceCounter;
+
+        /**
+         * @param window Amount of recent samples considered.
+         */
+        public Timing(int window) {
+            if(window <= 0) throw new IllegalArgumentException("window must be positive.");
+            this.samples = new long[window];
+            this.sorted = new long[window];
+        }
+
+        /**
+         * Records the duration of an execution.
+         *
+         * @param nanos Duration in nanoseconds.
+         * @param delta Time in seconds since the last frame, used to tick the {@link PerformanceCounter}, if any.
+         */
+        public void record(long nanos, float delta) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if(count < samples.length) count++;
+            sortedValid = false;
+            last = nanos;
+
+            // Push sample to libGDX counter
+            PerformanceCounter performanceCounter = this.performanceCounter;
+            if(performanceCounter != null) {
+                performanceCounter.current += nanos * 1e-9f;
+                performanceCounter.tick(delta);
+            }
+        }
+
+        /**
+         * Sets a {@link PerformanceCounter} to receive every recorded duration, in seconds. The counter is ticked on every record, so it
+         * shouldn't be ticked elsewhere. Can be null.
+         */
+        public void setPerformanceCounter(PerformanceCounter performanceCounter) {
+            this.performanceCounter = performanceCounter;
+        }
+
+        public PerformanceCounter getPerformanceCounter() {
+            return performanceCounter;
+        }
+
+        /**
+         * Returns the amount of samples in the window.
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the most recent duration in nanoseconds.
+         */
+        public long getLast() {
+            return last;
+        }
+
+        /**
+         * Returns the shortest duration in nanoseconds within the window.
+         */
+        public long getMin() {
+            if(count == 0) return 0;
+            long min = Long.MAX_VALUE;
+            for(int i = 0; i < count; i++) {
+                min = Math.min(min, samples[i]);
+            }
+            return min;
+        }
+
+        /**
+         * Returns the longest duration in nanoseconds within the window.
+         */
+        public long getMax() {
+            long max = 0;
+            for(int i = 0; i < count; i++) {
+                max = Math.max(max, samples[i]);
+            }
+            return max;
+        }
+
+        /**
+         * Returns the average duration in nanoseconds within the window.
+         */
+        public double getAverage() {
+            if(count == 0) return 0;
+            long total = 0;
+            for(int i = 0; i < count; i++) {
+                total += samples[i];
+            }
+            return total / (double) count;
+        }
+
+        /**
+         * Returns the given percentile of the durations in nanoseconds within the window.
+         *
+         * @param percentile Percentile from 0 to 1, e.g. 0.99 for the 99th percentile.
+         */
+        public long getPercentile(float percentile) {
+            if(count == 0) return 0;
+            if(!sortedValid) {
+                System.arraycopy(samples, 0, sorted, 0, count);
+                Arrays.sort(sorted, 0, count);
+                sortedValid = true;
+            }
+            int index = (int) Math.ceil(Math.min(Math.max(percentile, 0), 1) * count) - 1;
+            return sorted[Math.max(index, 0)];
+        }
+
+        /**
+         * Returns the 99th percentile of the durations in nanoseconds within the window.
+         */
+        public long getP99() {
+            return getPercentile(0.99f);
+        }
+
+        /**
+         * Clears all samples.
+         */
+        public void reset() {
+            count = 0;
+            next = 0;
+            last = 0;
+            sortedValid = false;
+        }
+    }
+
+}
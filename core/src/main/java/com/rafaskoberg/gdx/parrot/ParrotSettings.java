@@ -69,6 +69,67 @@ public class ParrotSettings {
      */
     public float soundDeathFadeOut = 0.40f;
 
+    /**
+     * Minimum change in the final volume of a sound for it to be sent to the audio backend. Smaller changes are accumulated until they
+     * exceed this threshold, saving native calls. Negative values send every update. Defaults to 0.001
+     */
+    public float soundVolumeUpdateThreshold = 0.001f;
+
+    /**
+     * Minimum change in the pan of a sound for it to be sent to the audio backend. Smaller changes are accumulated until they exceed this
+     * threshold, saving native calls. Negative values send every update. Defaults to 0.001
+     */
+    public float soundPanUpdateThreshold = 0.001f;
+
+    /**
+     * Maximum amount of pending commands queued from other threads through methods such as
+     * {@link com.rafaskoberg.gdx.parrot.sfx.SoundPlayer#queuePlaySound(com.rafaskoberg.gdx.parrot.sfx.ParrotSoundType, float, float)}.
+     * Rounded up to the next power of two. Only read when Parrot is created. Defaults to 1024
+     */
+    public int soundCommandQueueCapacity = 1024;
+
+    /**
+     * Size of the cells of the grid indexing the position of spatial sounds, used by {@link com.rafaskoberg.gdx.parrot.sfx.SoundPlayer#getSoundsInRadius}
+     * and {@link com.rafaskoberg.gdx.parrot.sfx.SoundPlayer#getSoundsInRegion}. Ideally close to the radius of typical queries. Defaults to 16
+     */
+    public float soundGridCellSize = 16f;
+
+    /**
+     * Maximum amount of sounds holding a native source at once, including sounds fading out after being stopped but not virtual sounds.
+     * Once reached, new sounds steal the source of a sound fading out, or else of the least audible sound among categories using more than
+     * their {@link com.rafaskoberg.gdx.parrot.sfx.ParrotSoundCategory#getReservedVoices() reserved voices}. Sounds that can't steal a
+     * source are refused. Negative values use the limit reported by the {@link com.rafaskoberg.gdx.parrot.backend.ParrotBackend}, which
+     * should then be configured with the amount of sources the app really has. Music shares native sources with sounds on most backends, so
+     * leave room for it when setting this explicitly. Defaults to {@link Integer#MAX_VALUE}, which disables the budget
+     */
+    public int soundVoiceBudget = Integer.MAX_VALUE;
+
+    /**
+     * Remaining time in seconds below which sounds become less valuable when stealing voices. A sound about to end is stolen before an
+     * equally loud one that just started. Defaults to 0.5
+     */
+    public float soundVoiceStealingRemainingTime = 0.5f;
+
+    /**
+     * How much the age of a sound in seconds lowers its value when stealing voices, so older sounds are stolen before newer ones of similar
+     * loudness. Defaults to 0.1
+     */
+    public float soundVoiceStealingAgePenalty = 0.1f;
+
+    /**
+     * Whether or not sounds too quiet to be heard become virtual. Virtual sounds release their native source while their time keeps
+     * advancing, and are played again once they become audible. Looping sounds restart from the beginning, while other sounds resume from
+     * their current time if the {@link com.rafaskoberg.gdx.parrot.backend.ParrotBackend} can seek, and are never made virtual otherwise.
+     * Defaults to false
+     */
+    public boolean soundVirtualVoices = false;
+
+    /**
+     * Final volume below which sounds become virtual, if {@link #soundVirtualVoices} is enabled. Virtual sounds are played again once their
+     * volume exceeds twice this value, so sounds hovering around the threshold don't restart repeatedly. Defaults to 0.002
+     */
+    public float soundVirtualVolumeThreshold = 0.002f;
+
     /**
      * Duration in seconds that will be assigned to {@link SoundInstance}s on platforms that don't report the duration of sounds. Currently
      * that's true for all platforms except Desktop.
@@ -0,0 +1,46 @@
+package com.rafaskoberg.gdx.parrot.backend;
+
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * Conservative {@link ParrotBackend} used when no other backend matches the running app. Nothing is assumed about the backend: sound
+ * durations are unknown, parameter updates are considered expensive and Boom is considered unavailable.
+ */
+public class GenericParrotBackend implements ParrotBackend {
+
+    @Override
+    public String getName() {
+        return "generic";
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public int getPriority() {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public float getSoundDuration(Sound sound) {
+        return -1;
+    }
+
+    @Override
+    public int getMaxNativeSources() {
+        return UNLIMITED_SOURCES;
+    }
+
+    @Override
+    public boolean hasCheapParameterUpdates() {
+        return false;
+    }
+
+    @Override
+    public boolean isBoomAvailable() {
+        return false;
+    }
+
+}
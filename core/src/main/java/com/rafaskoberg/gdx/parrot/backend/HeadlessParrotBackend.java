@@ -0,0 +1,48 @@
+package com.rafaskoberg.gdx.parrot.backend;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * {@link ParrotBackend} for the headless backend, commonly used by dedicated servers and tests. Its mock audio doesn't play anything, so
+ * parameter updates are free and there's no limit of sources.
+ */
+public class HeadlessParrotBackend implements ParrotBackend {
+
+    @Override
+    public String getName() {
+        return "headless";
+    }
+
+    @Override
+    public boolean isSupported() {
+        return Gdx.app != null && Gdx.app.getType() == ApplicationType.HeadlessDesktop;
+    }
+
+    @Override
+    public int getPriority() {
+        return 20;
+    }
+
+    @Override
+    public float getSoundDuration(Sound sound) {
+        return -1;
+    }
+
+    @Override
+    public int getMaxNativeSources() {
+        return UNLIMITED_SOURCES;
+    }
+
+    @Override
+    public boolean hasCheapParameterUpdates() {
+        return true;
+    }
+
+    @Override
+    public boolean isBoomAvailable() {
+        return false;
+    }
+
+}
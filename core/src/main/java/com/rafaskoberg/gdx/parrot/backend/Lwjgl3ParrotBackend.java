@@ -0,0 +1,108 @@
+package com.rafaskoberg.gdx.parrot.backend;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.rafaskoberg.gdx.parrot.util.ParrotUtils;
+
+/**
+ * {@link ParrotBackend} for the lwjgl3 desktop backend, which is backed by OpenAL. Sound durations are obtained from
+ * {@code OpenALSound.duration()}, whose accessor is resolved only once.
+ */
+public class Lwjgl3ParrotBackend implements ParrotBackend {
+    private static final String OPENAL_SOUND_CLASS = "com.badlogic.gdx.backends.lwjgl3.audio.OpenALSound";
+    private static final String BOOM_CLASS = "com.rafaskoberg.boom.Boom";
+
+    /**
+     * Default amount of simultaneous sources of the lwjgl3 backend, as per {@code Lwjgl3ApplicationConfiguration}.
+     */
+    public static final int DEFAULT_SIMULTANEOUS_SOURCES = 16;
+
+    private final int maxNativeSources;
+    private Class<?> classOpenALSound;
+    private Method methodDuration;
+    private boolean resolved;
+    private Boolean boomAvailable;
+
+    public Lwjgl3ParrotBackend() {
+        this(DEFAULT_SIMULTANEOUS_SOURCES);
+    }
+
+    /**
+     * @param maxNativeSources Amount of simultaneous sources the app was configured with, through
+     *                         {@code Lwjgl3ApplicationConfiguration.setAudioConfig}.
+     */
+    public Lwjgl3ParrotBackend(int maxNativeSources) {
+        this.maxNativeSources = maxNativeSources;
+    }
+
+    @Override
+    public String getName() {
+        return "lwjgl3";
+    }
+
+    @Override
+    public boolean isSupported() {
+        return ParrotUtils.isDesktop() && resolve();
+    }
+
+    @Override
+    public int getPriority() {
+        return 10;
+    }
+
+    @Override
+    public float getSoundDuration(Sound sound) {
+        if(sound == null || !resolve()) return -1;
+        if(!ClassReflection.isInstance(classOpenALSound, sound)) return -1;
+        try {
+            return (float) methodDuration.invoke(sound);
+        } catch(ReflectionException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public int getMaxNativeSources() {
+        return maxNativeSources;
+    }
+
+    @Override
+    public boolean hasCheapParameterUpdates() {
+        return false;
+    }
+
+    @Override
+    public boolean isBoomAvailable() {
+        if(boomAvailable == null) {
+            try {
+                ClassReflection.forName(BOOM_CLASS);
+                boomAvailable = true;
+            } catch(ReflectionException | LinkageError e) {
+                boomAvailable = false;
+            }
+        }
+        return boomAvailable;
+    }
+
+    /**
+     * Resolves the duration accessor once, remembering failures.
+     *
+     * @return Whether or not the accessor is available.
+     */
+    private boolean resolve() {
+        if(!resolved) {
+            resolved = true;
+            try {
+                classOpenALSound = ClassReflection.forName(OPENAL_SOUND_CLASS);
+                methodDuration = ClassReflection.getMethod(classOpenALSound, "duration");
+            } catch(ReflectionException | LinkageError e) {
+                classOpenALSound = null;
+                methodDuration = null;
+            }
+        }
+        return methodDuration != null;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.rafaskoberg.gdx.parrot.backend;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+
+/**
+ * Configurable {@link ParrotBackend} for tests and benchmarks. It's never chosen while probing, so it must be set manually through
+ * {@link com.rafaskoberg.gdx.parrot.Parrot#setBackend(ParrotBackend)}.
+ */
+public class MockParrotBackend implements ParrotBackend {
+    private final ObjectFloatMap<Sound> durations;
+    private float defaultDuration;
+    private int maxNativeSources;
+    private boolean cheapParameterUpdates;
+    private boolean boomAvailable;
+    private boolean soundSeeking;
+
+    public MockParrotBackend() {
+        this.durations = new ObjectFloatMap<>();
+        this.defaultDuration = -1;
+        this.maxNativeSources = UNLIMITED_SOURCES;
+        this.cheapParameterUpdates = true;
+        this.boomAvailable = false;
+        this.soundSeeking = false;
+    }
+
+    @Override
+    public String getName() {
+        return "mock";
+    }
+
+    @Override
+    public boolean isSupported() {
+        return false;
+    }
+
+    @Override
+    public float getSoundDuration(Sound sound) {
+        return durations.get(sound, defaultDuration);
+    }
+
+    /**
+     * Sets the duration in seconds reported for the given {@link Sound}.
+     */
+    public void setSoundDuration(Sound sound, float duration) {
+        durations.put(sound, duration);
+    }
+
+    /**
+     * Sets the duration in seconds reported for sounds without a specific duration. Negative values mean unknown. Defaults to -1.
+     */
+    public void setDefaultSoundDuration(float defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+
+    @Override
+    public int getMaxNativeSources() {
+        return maxNativeSources;
+    }
+
+    /**
+     * Sets the maximum amount of simultaneous sounds reported by this backend. Defaults to {@link #UNLIMITED_SOURCES}.
+     */
+    public void setMaxNativeSources(int maxNativeSources) {
+        this.maxNativeSources = maxNativeSources;
+    }
+
+    @Override
+    public boolean hasCheapParameterUpdates() {
+        return cheapParameterUpdates;
+    }
+
+    /**
+     * Sets whether parameter updates are reported as cheap. Defaults to true.
+     */
+    public void setCheapParameterUpdates(boolean cheapParameterUpdates) {
+        this.cheapParameterUpdates = cheapParameterUpdates;
+    }
+
+    @Override
+    public boolean isBoomAvailable() {
+        return boomAvailable;
+    }
+
+    /**
+     * Sets whether Boom is reported as available. Defaults to false.
+     */
+    public void setBoomAvailable(boolean boomAvailable) {
+        this.boomAvailable = boomAvailable;
+    }
+
+    @Override
+    public boolean canSeekSounds() {
+        return soundSeeking;
+    }
+
+    /**
+     * Sets whether sounds are reported as seekable. Seeking itself does nothing. Defaults to false.
+     */
+    public void setSoundSeeking(boolean soundSeeking) {
+        this.soundSeeking = soundSeeking;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.rafaskoberg.gdx.parrot.backend;
+
+import com.badlogic.gdx.audio.Sound;
+import com.rafaskoberg.boom.Boom;
+
+/**
+ * Adapter describing what the libGDX audio backend Parrot is running on is capable of. Backends are probed once when {@link
+ * com.rafaskoberg.gdx.parrot.Parrot Parrot} is created, through {@link ParrotBackends#probe()}, so capabilities can be cached instead of
+ * being discovered through reflection while audio is playing.
+ * <p>
+ * Custom backends can be registered through {@link java.util.ServiceLoader}, by listing them in a
+ * {@code META-INF/services/com.rafaskoberg.gdx.parrot.backend.ParrotBackend} file.
+ */
+public interface ParrotBackend {
+
+    /**
+     * Value returned by {@link #getMaxNativeSources()} when the backend has no known limit.
+     */
+    int UNLIMITED_SOURCES = Integer.MAX_VALUE;
+
+    /**
+     * Returns a human readable name of this backend.
+     */
+    String getName();
+
+    /**
+     * Returns whether or not this backend matches the environment the app is running on. Only supported backends are chosen while
+     * probing.
+     */
+    boolean isSupported();
+
+    /**
+     * Returns the priority of this backend while probing. When several backends are supported, the highest priority wins. Defaults to 0.
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * Returns the duration in seconds of the given {@link Sound}, or a negative value if this backend can't report it.
+     */
+    float getSoundDuration(Sound sound);
+
+    /**
+     * Returns the maximum amount of sounds the backend can play simultaneously, or {@link #UNLIMITED_SOURCES} if there's no known limit.
+     */
+    int getMaxNativeSources();
+
+    /**
+     * Returns whether or not changing the parameters of a playing sound (volume, pan, pitch) is cheap, i.e. doesn't involve native calls.
+     */
+    boolean hasCheapParameterUpdates();
+
+    /**
+     * Returns whether or not {@link Boom} is available in this backend.
+     */
+    boolean isBoomAvailable();
+
+    /**
+     * Returns whether or not this backend can move the playback position of a playing sound through
+     * {@link #seekSound(Sound, long, float)}. Defaults to false.
+     */
+    default boolean canSeekSounds() {
+        return false;
+    }
+
+    /**
+     * Moves the playback position of a playing sound, if {@link #canSeekSounds()} is true. Does nothing by default.
+     *
+     * @param soundId  ID returned by {@link Sound#play()} or {@link Sound#loop()}.
+     * @param position Position in seconds.
+     */
+    default void seekSound(Sound sound, long soundId, float position) {
+    }
+
+}
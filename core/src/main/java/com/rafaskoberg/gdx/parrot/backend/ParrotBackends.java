@@ -0,0 +1,56 @@
+package com.rafaskoberg.gdx.parrot.backend;
+
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingParrotBackend;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Probes the available {@link ParrotBackend}s and picks the one matching the running app.
+ */
+public class ParrotBackends {
+
+    /**
+     * Returns the supported {@link ParrotBackend} with the highest priority, among the ones registered through {@link ServiceLoader}. If
+     * none of them is supported, a {@link GenericParrotBackend} is returned.
+     */
+    public static ParrotBackend probe() {
+        ParrotBackend chosen = null;
+        try {
+            Iterator<ParrotBackend> iterator = ServiceLoader.load(ParrotBackend.class).iterator();
+            while(iterator.hasNext()) {
+                ParrotBackend backend;
+                try {
+                    backend = iterator.next();
+                } catch(ServiceConfigurationError e) {
+                    // Skip backends that can't be instantiated
+                    continue;
+                }
+                if(backend.isSupported() && (chosen == null || backend.getPriority() > chosen.getPriority())) {
+                    chosen = backend;
+                }
+            }
+        } catch(ServiceConfigurationError e) {
+            // Service lookup isn't available, use built-in backends
+        }
+
+        // Fall back to built-in backends in case ServiceLoader didn't find any
+        if(chosen == null) {
+            ParrotBackend recording = new RecordingParrotBackend();
+            ParrotBackend lwjgl3 = new Lwjgl3ParrotBackend();
+            ParrotBackend headless = new HeadlessParrotBackend();
+            if(recording.isSupported()) {
+                chosen = recording;
+            } else if(lwjgl3.isSupported()) {
+                chosen = lwjgl3;
+            } else if(headless.isSupported()) {
+                chosen = headless;
+            } else {
+                chosen = new GenericParrotBackend();
+            }
+        }
+        return chosen;
+    }
+
+}
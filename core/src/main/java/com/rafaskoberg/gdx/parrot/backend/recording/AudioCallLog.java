@@ -0,0 +1,229 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+/**
+ * Fixed-size log of the calls made to the sounds and music of a {@link RecordingAudio}. Calls are packed into primitive arrays used as a
+ * ring buffer, so recording never allocates, and the oldest calls are overwritten once the log is full.
+ * <p>
+ * Calls are indexed from the oldest one still in the log, at index 0, to the most recent one, at {@code size() - 1}.
+ */
+public class AudioCallLog {
+    private static final int VALUE_STRIDE = 3;
+    private static final Call[] CALLS = Call.values();
+
+    private final byte[] calls;
+    private final Object[] targets;
+    private final long[] ids;
+    private final long[] times;
+    private final float[] values;
+    private int head;
+    private int size;
+    private long totalCount;
+    private boolean enabled;
+
+    /**
+     * @param capacity Amount of calls kept in this log before the oldest ones are overwritten.
+     */
+    public AudioCallLog(int capacity) {
+        if(capacity < 1) throw new IllegalArgumentException("capacity must be at least 1.");
+        this.calls = new byte[capacity];
+        this.targets = new Object[capacity];
+        this.ids = new long[capacity];
+        this.times = new long[capacity];
+        this.values = new float[capacity * VALUE_STRIDE];
+        this.head = 0;
+        this.size = 0;
+        this.totalCount = 0;
+        this.enabled = true;
+    }
+
+    /**
+     * Records a call. Unused values should be 0.
+     *
+     * @param time   Time of the call in nanoseconds, according to the clock of the {@link RecordingAudio}.
+     * @param target The {@link RecordingSound} or {@link RecordingMusic} called.
+     * @param id     ID of the sound instance affected by the call, or -1 if it affects all of them.
+     */
+    public void record(Call call, long time, Object target, long id, float value0, float value1, float value2) {
+        if(!enabled) return;
+        int index = head;
+        calls[index] = (byte) call.ordinal();
+        targets[index] = target;
+        ids[index] = id;
+        times[index] = time;
+        int valueIndex = index * VALUE_STRIDE;
+        values[valueIndex] = value0;
+        values[valueIndex + 1] = value1;
+        values[valueIndex + 2] = value2;
+
+        // Advance ring buffer, overwriting the oldest call once full
+        head = (head + 1) % calls.length;
+        if(size < calls.length) size++;
+        totalCount++;
+    }
+
+    /**
+     * Returns the amount of calls currently in this log.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum amount of calls kept in this log.
+     */
+    public int capacity() {
+        return calls.length;
+    }
+
+    /**
+     * Returns the amount of calls recorded since this log was created or cleared, including the ones already overwritten.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the {@link Call} at the given index.
+     */
+    public Call getCall(int index) {
+        return CALLS[calls[toSlot(index)]];
+    }
+
+    /**
+     * Returns the {@link RecordingSound} or {@link RecordingMusic} called at the given index.
+     */
+    public Object getTarget(int index) {
+        return targets[toSlot(index)];
+    }
+
+    /**
+     * Returns the ID of the sound instance affected by the call at the given index, or -1 if the call affects all of them.
+     */
+    public long getId(int index) {
+        return ids[toSlot(index)];
+    }
+
+    /**
+     * Returns the time in nanoseconds of the call at the given index.
+     */
+    public long getTime(int index) {
+        return times[toSlot(index)];
+    }
+
+    /**
+     * Returns one of the values passed to the call at the given index, such as volume, pitch or pan. See {@link Call} for the meaning of
+     * each value.
+     *
+     * @param value Index of the value, from 0 to 2.
+     */
+    public float getValue(int index, int value) {
+        if(value < 0 || value >= VALUE_STRIDE) throw new IndexOutOfBoundsException("value: " + value);
+        return values[toSlot(index) * VALUE_STRIDE + value];
+    }
+
+    /**
+     * Returns how many calls of the given kind are in this log.
+     */
+    public int count(Call call) {
+        return count(call, null);
+    }
+
+    /**
+     * Returns how many calls of the given kind made to the given target are in this log. A {@code null} target matches any target.
+     */
+    public int count(Call call, Object target) {
+        int count = 0;
+        for(int i = 0; i < size; i++) {
+            int slot = toSlot(i);
+            if(calls[slot] == call.ordinal() && (target == null || targets[slot] == target)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the most recent call of the given kind affecting the given sound instance, or -1 if there's none. An ID of -1
+     * matches any call of that kind.
+     */
+    public int lastIndexOf(Call call, long id) {
+        for(int i = size - 1; i >= 0; i--) {
+            int slot = toSlot(i);
+            if(calls[slot] == call.ordinal() && (id == -1 || ids[slot] == id)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether or not calls are being recorded. Defaults to true.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether or not calls are recorded. The state of sounds and music is tracked either way.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Removes all calls from this log.
+     */
+    public void clear() {
+        for(int i = 0; i < targets.length; i++) targets[i] = null;
+        head = 0;
+        size = 0;
+        totalCount = 0;
+    }
+
+    private int toSlot(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+        int slot = head - size + index;
+        return slot < 0 ? slot + calls.length : slot;
+    }
+
+    /**
+     * Kinds of calls recorded by {@link AudioCallLog}, along with the meaning of their values.
+     */
+    public enum Call {
+        /** {@link RecordingSound#play(float, float, float)}. Values: volume, pitch and pan. */
+        SOUND_PLAY,
+        /** {@link RecordingSound#loop(float, float, float)}. Values: volume, pitch and pan. */
+        SOUND_LOOP,
+        /** {@link RecordingSound#stop(long)}, or {@link RecordingSound#stop()} for ID -1. */
+        SOUND_STOP,
+        /** {@link RecordingSound#pause(long)}, or {@link RecordingSound#pause()} for ID -1. */
+        SOUND_PAUSE,
+        /** {@link RecordingSound#resume(long)}, or {@link RecordingSound#resume()} for ID -1. */
+        SOUND_RESUME,
+        /** {@link RecordingSound#setLooping(long, boolean)}. Values: 1 if looping, 0 otherwise. */
+        SOUND_SET_LOOPING,
+        /** {@link RecordingSound#setPitch(long, float)}. Values: pitch. */
+        SOUND_SET_PITCH,
+        /** {@link RecordingSound#setVolume(long, float)}. Values: volume. */
+        SOUND_SET_VOLUME,
+        /** {@link RecordingSound#setPan(long, float, float)}. Values: pan and volume. */
+        SOUND_SET_PAN,
+        /** {@link RecordingSound#seek(long, float)}. Values: position in seconds. */
+        SOUND_SEEK,
+        /** {@link RecordingSound#dispose()}. */
+        SOUND_DISPOSE,
+        /** {@link RecordingMusic#play()}. */
+        MUSIC_PLAY,
+        /** {@link RecordingMusic#pause()}. */
+        MUSIC_PAUSE,
+        /** {@link RecordingMusic#stop()}. */
+        MUSIC_STOP,
+        /** {@link RecordingMusic#setLooping(boolean)}. Values: 1 if looping, 0 otherwise. */
+        MUSIC_SET_LOOPING,
+        /** {@link RecordingMusic#setVolume(float)}. Values: volume. */
+        MUSIC_SET_VOLUME,
+        /** {@link RecordingMusic#setPan(float, float)}. Values: pan and volume. */
+        MUSIC_SET_PAN,
+        /** {@link RecordingMusic#setPosition(float)}. Values: position in seconds. */
+        MUSIC_SET_POSITION,
+        /** {@link RecordingMusic#dispose()}. */
+        MUSIC_DISPOSE
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.audio.AudioDevice;
+import com.badlogic.gdx.audio.AudioRecorder;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+import com.rafaskoberg.gdx.parrot.ParrotClock;
+
+/**
+ * Pure Java implementation of libGDX's {@link Audio}, which doesn't output anything nor read any files. Instead, the {@link RecordingSound}s
+ * and {@link RecordingMusic} it creates track their own state, simulate their playback from a {@link ParrotClock} and record every call
+ * into an {@link AudioCallLog}.
+ * <p>
+ * It's meant for tests, benchmarks and dedicated servers. To run Parrot on it, either assign it to {@code Gdx.audio} before creating Parrot,
+ * so {@link RecordingParrotBackend} is picked while probing, or set the backend manually. Sharing the clock through
+ * {@link com.rafaskoberg.gdx.parrot.Parrot#setClock(ParrotClock)} keeps playback in sync with sound updates:
+ * <pre>
+ * RecordingAudio audio = new RecordingAudio();
+ * parrot.setBackend(new RecordingParrotBackend());
+ * parrot.setClock(audio.getClock());
+ * </pre>
+ * Audio devices and recorders aren't supported.
+ */
+public class RecordingAudio implements Audio {
+    private final AudioCallLog log;
+    private final ObjectFloatMap<String> durations;
+    private ParrotClock clock;
+    private float defaultSoundDuration;
+    private float defaultMusicDuration;
+    private long nextSerial;
+
+    /**
+     * Creates a new audio driven by a {@link ParrotClock.DeltaClock}, which keeps the last 4096 calls.
+     */
+    public RecordingAudio() {
+        this(new ParrotClock.DeltaClock(), 4096);
+    }
+
+    /**
+     * @param clock       Clock used to simulate playback. It must be advanced by whoever owns it, e.g. by Parrot when shared with it.
+     * @param logCapacity Amount of calls kept in the {@link AudioCallLog}.
+     */
+    public RecordingAudio(ParrotClock clock, int logCapacity) {
+        if(clock == null) throw new IllegalArgumentException("clock cannot be null.");
+        this.log = new AudioCallLog(logCapacity);
+        this.durations = new ObjectFloatMap<>();
+        this.clock = clock;
+        this.defaultSoundDuration = 1;
+        this.defaultMusicDuration = 60;
+        this.nextSerial = 1;
+    }
+
+    /**
+     * Returns the {@link AudioCallLog} where the calls of all sounds and music created by this audio are recorded.
+     */
+    public AudioCallLog getLog() {
+        return log;
+    }
+
+    /**
+     * Returns the {@link ParrotClock} used to simulate playback.
+     */
+    public ParrotClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the {@link ParrotClock} used to simulate playback. Its time should not be behind the previous clock's.
+     */
+    public void setClock(ParrotClock clock) {
+        if(clock == null) throw new IllegalArgumentException("clock cannot be null.");
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current time of the clock in nanoseconds.
+     */
+    public long getTime() {
+        return clock.getTime();
+    }
+
+    /**
+     * Sets the duration in seconds of the sounds and music created from files with the given path.
+     */
+    public void setDuration(String path, float duration) {
+        durations.put(path, duration);
+    }
+
+    /**
+     * Sets the duration in seconds of the sounds created from files without a specific duration. Defaults to 1.
+     */
+    public void setDefaultSoundDuration(float defaultSoundDuration) {
+        this.defaultSoundDuration = defaultSoundDuration;
+    }
+
+    /**
+     * Sets the duration in seconds of the music created from files without a specific duration. Defaults to 60.
+     */
+    public void setDefaultMusicDuration(float defaultMusicDuration) {
+        this.defaultMusicDuration = defaultMusicDuration;
+    }
+
+    @Override
+    public Sound newSound(FileHandle fileHandle) {
+        String path = fileHandle.path();
+        return newSound(path, durations.get(path, defaultSoundDuration));
+    }
+
+    /**
+     * Creates a {@link RecordingSound} without a file.
+     *
+     * @param duration Duration in seconds. Instances of sounds with a duration of 0 or less never end by themselves.
+     */
+    public RecordingSound newSound(String name, float duration) {
+        return new RecordingSound(this, name, duration);
+    }
+
+    @Override
+    public Music newMusic(FileHandle file) {
+        String path = file.path();
+        return newMusic(path, durations.get(path, defaultMusicDuration));
+    }
+
+    /**
+     * Creates a {@link RecordingMusic} without a file.
+     *
+     * @param duration Duration in seconds. Music with a duration of 0 or less never ends by itself.
+     */
+    public RecordingMusic newMusic(String name, float duration) {
+        return new RecordingMusic(this, name, duration);
+    }
+
+    @Override
+    public AudioDevice newAudioDevice(int samplingRate, boolean isMono) {
+        throw new GdxRuntimeException("Audio devices aren't supported by RecordingAudio.");
+    }
+
+    @Override
+    public AudioRecorder newAudioRecorder(int samplingRate, boolean isMono) {
+        throw new GdxRuntimeException("Audio recorders aren't supported by RecordingAudio.");
+    }
+
+    /**
+     * Returns a new serial number for the IDs of sound instances, so they are unique across all sounds of this audio.
+     */
+    long nextSerial() {
+        return nextSerial++;
+    }
+
+}
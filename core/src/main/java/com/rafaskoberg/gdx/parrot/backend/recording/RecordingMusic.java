@@ -0,0 +1,189 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.badlogic.gdx.audio.Music;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+
+/**
+ * {@link Music} that doesn't output anything, created by {@link RecordingAudio}. Every call is recorded in the {@link AudioCallLog} of the
+ * audio.
+ * <p>
+ * While playing, the position advances along with the clock of the audio. Once it reaches the duration of this music, it either loops
+ * back or stops and notifies its {@link OnCompletionListener}, which happens the next time its state is queried. Music with a duration of 0
+ * or less plays forever.
+ */
+public class RecordingMusic implements Music {
+    private final RecordingAudio audio;
+    private final String name;
+    private final float duration;
+    private OnCompletionListener onCompletionListener;
+    private boolean playing;
+    private boolean looping;
+    private float volume;
+    private float pan;
+    private float position;
+    private long syncTime;
+    private boolean disposed;
+
+    /**
+     * @param duration Duration in seconds of this music. Music with a duration of 0 or less never ends by itself.
+     */
+    public RecordingMusic(RecordingAudio audio, String name, float duration) {
+        this.audio = audio;
+        this.name = name;
+        this.duration = duration;
+        this.playing = false;
+        this.looping = false;
+        this.volume = 1;
+        this.pan = 0;
+        this.position = 0;
+        this.syncTime = audio.getTime();
+        this.disposed = false;
+    }
+
+    /**
+     * Returns the {@link RecordingAudio} that created this music.
+     */
+    public RecordingAudio getAudio() {
+        return audio;
+    }
+
+    /**
+     * Returns the name of this music, which is the path of its file when created through {@link RecordingAudio#newMusic}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the duration of this music in seconds.
+     */
+    public float getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns whether or not this music has been disposed. Disposed music refuses to play.
+     */
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Returns the pan of this music, from -1 to 1.
+     */
+    public float getPan() {
+        return pan;
+    }
+
+    @Override
+    public void play() {
+        audio.getLog().record(Call.MUSIC_PLAY, audio.getTime(), this, -1, 0, 0, 0);
+        if(disposed) return;
+        sync();
+        playing = true;
+    }
+
+    @Override
+    public void pause() {
+        audio.getLog().record(Call.MUSIC_PAUSE, audio.getTime(), this, -1, 0, 0, 0);
+        sync();
+        playing = false;
+    }
+
+    @Override
+    public void stop() {
+        audio.getLog().record(Call.MUSIC_STOP, audio.getTime(), this, -1, 0, 0, 0);
+        sync();
+        playing = false;
+        position = 0;
+    }
+
+    @Override
+    public boolean isPlaying() {
+        sync();
+        return playing;
+    }
+
+    @Override
+    public void setLooping(boolean isLooping) {
+        audio.getLog().record(Call.MUSIC_SET_LOOPING, audio.getTime(), this, -1, isLooping ? 1 : 0, 0, 0);
+        sync();
+        this.looping = isLooping;
+    }
+
+    @Override
+    public boolean isLooping() {
+        return looping;
+    }
+
+    @Override
+    public void setVolume(float volume) {
+        audio.getLog().record(Call.MUSIC_SET_VOLUME, audio.getTime(), this, -1, volume, 0, 0);
+        this.volume = volume;
+    }
+
+    @Override
+    public float getVolume() {
+        return volume;
+    }
+
+    @Override
+    public void setPan(float pan, float volume) {
+        audio.getLog().record(Call.MUSIC_SET_PAN, audio.getTime(), this, -1, pan, volume, 0);
+        this.pan = pan;
+        this.volume = volume;
+    }
+
+    @Override
+    public void setPosition(float position) {
+        audio.getLog().record(Call.MUSIC_SET_POSITION, audio.getTime(), this, -1, position, 0, 0);
+        sync();
+        this.position = Math.max(position, 0);
+    }
+
+    @Override
+    public float getPosition() {
+        sync();
+        return position;
+    }
+
+    @Override
+    public void dispose() {
+        audio.getLog().record(Call.MUSIC_DISPOSE, audio.getTime(), this, -1, 0, 0, 0);
+        playing = false;
+        disposed = true;
+    }
+
+    @Override
+    public void setOnCompletionListener(OnCompletionListener listener) {
+        this.onCompletionListener = listener;
+    }
+
+    /**
+     * Advances the position up to the current time of the audio, ending or looping this music once it reaches its duration.
+     */
+    private void sync() {
+        long now = audio.getTime();
+        if(playing) {
+            position += (now - syncTime) * 1e-9f;
+        }
+        syncTime = now;
+
+        // Loop or complete once the end is reached
+        if(playing && duration > 0 && position >= duration) {
+            if(looping) {
+                position %= duration;
+            } else {
+                playing = false;
+                position = 0;
+                if(onCompletionListener != null) onCompletionListener.onCompletion(this);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
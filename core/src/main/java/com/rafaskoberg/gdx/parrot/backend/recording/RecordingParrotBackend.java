@@ -0,0 +1,75 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackend;
+
+/**
+ * {@link ParrotBackend} for {@link RecordingAudio}. It reports the real durations of {@link RecordingSound}s and supports seeking them. It's
+ * picked while probing whenever {@code Gdx.audio} is a {@link RecordingAudio}, taking precedence over the headless backend.
+ */
+public class RecordingParrotBackend implements ParrotBackend {
+    private int maxNativeSources;
+
+    public RecordingParrotBackend() {
+        this.maxNativeSources = UNLIMITED_SOURCES;
+    }
+
+    @Override
+    public String getName() {
+        return "recording";
+    }
+
+    @Override
+    public boolean isSupported() {
+        return Gdx.audio instanceof RecordingAudio;
+    }
+
+    @Override
+    public int getPriority() {
+        return 30;
+    }
+
+    @Override
+    public float getSoundDuration(Sound sound) {
+        if(!(sound instanceof RecordingSound)) return -1;
+        float duration = ((RecordingSound) sound).getDuration();
+        return duration > 0 ? duration : -1;
+    }
+
+    @Override
+    public int getMaxNativeSources() {
+        return maxNativeSources;
+    }
+
+    /**
+     * Sets the maximum amount of simultaneous sounds reported by this backend, e.g. to test voice budgets. Defaults to
+     * {@link #UNLIMITED_SOURCES}.
+     */
+    public void setMaxNativeSources(int maxNativeSources) {
+        this.maxNativeSources = maxNativeSources;
+    }
+
+    @Override
+    public boolean hasCheapParameterUpdates() {
+        return true;
+    }
+
+    @Override
+    public boolean isBoomAvailable() {
+        return false;
+    }
+
+    @Override
+    public boolean canSeekSounds() {
+        return true;
+    }
+
+    @Override
+    public void seekSound(Sound sound, long soundId, float position) {
+        if(sound instanceof RecordingSound) {
+            ((RecordingSound) sound).seek(soundId, position);
+        }
+    }
+
+}
@@ -0,0 +1,390 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.badlogic.gdx.audio.Sound;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+
+/**
+ * {@link Sound} that doesn't output anything, created by {@link RecordingAudio}. Every call is recorded in the {@link AudioCallLog} of the
+ * audio, and each played instance keeps its volume, pan, pitch and looping state, which can be queried by ID.
+ * <p>
+ * The playback position of each instance advances along with the clock of the audio, scaled by its pitch. Once it reaches the duration of
+ * this sound, the instance ends, unless it's looping. Sounds with a duration of 0 or less play forever.
+ * <p>
+ * Instances are kept in primitive arrays. Each ID encodes the slot of its instance in its lower bits and a serial number issued by the
+ * audio in its upper bits, so IDs are unique across all sounds and resolving one is an array access.
+ */
+public class RecordingSound implements Sound {
+    private static final int SLOT_BITS = 20;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+    private static final byte FLAG_LOOPING = 1;
+    private static final byte FLAG_PAUSED = 2;
+
+    private final RecordingAudio audio;
+    private final String name;
+    private final float duration;
+    private long[] ids;
+    private float[] volumes;
+    private float[] pans;
+    private float[] pitches;
+    private float[] positions;
+    private long[] syncTimes;
+    private byte[] flags;
+    private int[] freeSlots;
+    private int freeCount;
+    private int usedSlots;
+    private boolean disposed;
+
+    /**
+     * @param duration Duration in seconds of this sound. Instances of sounds with a duration of 0 or less never end by themselves.
+     */
+    public RecordingSound(RecordingAudio audio, String name, float duration) {
+        this.audio = audio;
+        this.name = name;
+        this.duration = duration;
+        this.ids = new long[8];
+        this.volumes = new float[8];
+        this.pans = new float[8];
+        this.pitches = new float[8];
+        this.positions = new float[8];
+        this.syncTimes = new long[8];
+        this.flags = new byte[8];
+        this.freeSlots = new int[8];
+        this.freeCount = 0;
+        this.usedSlots = 0;
+        this.disposed = false;
+    }
+
+    /**
+     * Returns the {@link RecordingAudio} that created this sound.
+     */
+    public RecordingAudio getAudio() {
+        return audio;
+    }
+
+    /**
+     * Returns the name of this sound, which is the path of its file when created through {@link RecordingAudio#newSound}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the duration of this sound in seconds.
+     */
+    public float getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns whether or not this sound has been disposed. Disposed sounds refuse to play, returning -1.
+     */
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    @Override
+    public long play() {
+        return play(1, 1, 0);
+    }
+
+    @Override
+    public long play(float volume) {
+        return play(volume, 1, 0);
+    }
+
+    @Override
+    public long play(float volume, float pitch, float pan) {
+        audio.getLog().record(Call.SOUND_PLAY, audio.getTime(), this, -1, volume, pitch, pan);
+        return start(volume, pitch, pan, false);
+    }
+
+    @Override
+    public long loop() {
+        return loop(1, 1, 0);
+    }
+
+    @Override
+    public long loop(float volume) {
+        return loop(volume, 1, 0);
+    }
+
+    @Override
+    public long loop(float volume, float pitch, float pan) {
+        audio.getLog().record(Call.SOUND_LOOP, audio.getTime(), this, -1, volume, pitch, pan);
+        return start(volume, pitch, pan, true);
+    }
+
+    @Override
+    public void stop() {
+        audio.getLog().record(Call.SOUND_STOP, audio.getTime(), this, -1, 0, 0, 0);
+        for(int slot = 0; slot < usedSlots; slot++) {
+            if(ids[slot] != 0) release(slot);
+        }
+    }
+
+    @Override
+    public void pause() {
+        long now = audio.getTime();
+        audio.getLog().record(Call.SOUND_PAUSE, now, this, -1, 0, 0, 0);
+        for(int slot = 0; slot < usedSlots; slot++) {
+            if(ids[slot] != 0 && sync(slot, now)) flags[slot] |= FLAG_PAUSED;
+        }
+    }
+
+    @Override
+    public void resume() {
+        long now = audio.getTime();
+        audio.getLog().record(Call.SOUND_RESUME, now, this, -1, 0, 0, 0);
+        for(int slot = 0; slot < usedSlots; slot++) {
+            if(ids[slot] != 0 && sync(slot, now)) flags[slot] &= ~FLAG_PAUSED;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        audio.getLog().record(Call.SOUND_DISPOSE, audio.getTime(), this, -1, 0, 0, 0);
+        for(int slot = 0; slot < usedSlots; slot++) {
+            if(ids[slot] != 0) release(slot);
+        }
+        disposed = true;
+    }
+
+    @Override
+    public void stop(long soundId) {
+        audio.getLog().record(Call.SOUND_STOP, audio.getTime(), this, soundId, 0, 0, 0);
+        int slot = resolve(soundId);
+        if(slot != -1) release(slot);
+    }
+
+    @Override
+    public void pause(long soundId) {
+        audio.getLog().record(Call.SOUND_PAUSE, audio.getTime(), this, soundId, 0, 0, 0);
+        int slot = resolve(soundId);
+        if(slot != -1) flags[slot] |= FLAG_PAUSED;
+    }
+
+    @Override
+    public void resume(long soundId) {
+        audio.getLog().record(Call.SOUND_RESUME, audio.getTime(), this, soundId, 0, 0, 0);
+        int slot = resolve(soundId);
+        if(slot != -1) flags[slot] &= ~FLAG_PAUSED;
+    }
+
+    @Override
+    public void setLooping(long soundId, boolean looping) {
+        audio.getLog().record(Call.SOUND_SET_LOOPING, audio.getTime(), this, soundId, looping ? 1 : 0, 0, 0);
+        int slot = resolve(soundId);
+        if(slot == -1) return;
+        if(looping) {
+            flags[slot] |= FLAG_LOOPING;
+        } else {
+            flags[slot] &= ~FLAG_LOOPING;
+        }
+    }
+
+    @Override
+    public void setPitch(long soundId, float pitch) {
+        audio.getLog().record(Call.SOUND_SET_PITCH, audio.getTime(), this, soundId, pitch, 0, 0);
+        int slot = resolve(soundId);
+        if(slot != -1) pitches[slot] = pitch;
+    }
+
+    @Override
+    public void setVolume(long soundId, float volume) {
+        audio.getLog().record(Call.SOUND_SET_VOLUME, audio.getTime(), this, soundId, volume, 0, 0);
+        int slot = resolve(soundId);
+        if(slot != -1) volumes[slot] = volume;
+    }
+
+    @Override
+    public void setPan(long soundId, float pan, float volume) {
+        audio.getLog().record(Call.SOUND_SET_PAN, audio.getTime(), this, soundId, pan, volume, 0);
+        int slot = resolve(soundId);
+        if(slot == -1) return;
+        pans[slot] = pan;
+        volumes[slot] = volume;
+    }
+
+    /**
+     * Moves the playback position of the given instance. Used by {@link RecordingParrotBackend#seekSound(Sound, long, float)}.
+     *
+     * @param position Position in seconds.
+     */
+    public void seek(long soundId, float position) {
+        audio.getLog().record(Call.SOUND_SEEK, audio.getTime(), this, soundId, position, 0, 0);
+        int slot = resolve(soundId);
+        if(slot != -1) positions[slot] = Math.max(position, 0);
+    }
+
+    /**
+     * Returns whether or not the given instance is playing. Paused, stopped and ended instances aren't playing.
+     */
+    public boolean isPlaying(long soundId) {
+        int slot = resolve(soundId);
+        return slot != -1 && (flags[slot] & FLAG_PAUSED) == 0;
+    }
+
+    /**
+     * Returns whether or not the given instance is paused.
+     */
+    public boolean isPaused(long soundId) {
+        int slot = resolve(soundId);
+        return slot != -1 && (flags[slot] & FLAG_PAUSED) != 0;
+    }
+
+    /**
+     * Returns whether or not the given instance is looping.
+     */
+    public boolean isLooping(long soundId) {
+        int slot = resolve(soundId);
+        return slot != -1 && (flags[slot] & FLAG_LOOPING) != 0;
+    }
+
+    /**
+     * Returns the volume of the given instance, or 0 if it's no longer playing.
+     */
+    public float getVolume(long soundId) {
+        int slot = resolve(soundId);
+        return slot == -1 ? 0 : volumes[slot];
+    }
+
+    /**
+     * Returns the pan of the given instance, or 0 if it's no longer playing.
+     */
+    public float getPan(long soundId) {
+        int slot = resolve(soundId);
+        return slot == -1 ? 0 : pans[slot];
+    }
+
+    /**
+     * Returns the pitch of the given instance, or 1 if it's no longer playing.
+     */
+    public float getPitch(long soundId) {
+        int slot = resolve(soundId);
+        return slot == -1 ? 1 : pitches[slot];
+    }
+
+    /**
+     * Returns the playback position of the given instance in seconds, or 0 if it's no longer playing.
+     */
+    public float getPosition(long soundId) {
+        int slot = resolve(soundId);
+        return slot == -1 ? 0 : positions[slot];
+    }
+
+    /**
+     * Returns the amount of instances of this sound that haven't been stopped nor ended yet, including paused ones.
+     */
+    public int getActiveCount() {
+        long now = audio.getTime();
+        int count = 0;
+        for(int slot = 0; slot < usedSlots; slot++) {
+            if(ids[slot] != 0 && sync(slot, now)) count++;
+        }
+        return count;
+    }
+
+    private long start(float volume, float pitch, float pan, boolean looping) {
+        if(disposed) return -1;
+        int slot = allocate();
+        if(slot == -1) return -1;
+        long id = (audio.nextSerial() << SLOT_BITS) | slot;
+        ids[slot] = id;
+        volumes[slot] = volume;
+        pans[slot] = pan;
+        pitches[slot] = pitch;
+        positions[slot] = 0;
+        syncTimes[slot] = audio.getTime();
+        flags[slot] = looping ? FLAG_LOOPING : 0;
+        return id;
+    }
+
+    /**
+     * Returns the slot of the given instance, advancing its position, or -1 if the ID is invalid or the instance is no longer playing.
+     */
+    private int resolve(long soundId) {
+        if(soundId <= 0) return -1;
+        int slot = (int) (soundId & SLOT_MASK);
+        if(slot >= usedSlots || ids[slot] != soundId) return -1;
+        return sync(slot, audio.getTime()) ? slot : -1;
+    }
+
+    /**
+     * Advances the position of the instance in the given slot up to the given time, releasing it if it ended.
+     *
+     * @return whether or not the instance is still active.
+     */
+    private boolean sync(int slot, long now) {
+        if((flags[slot] & FLAG_PAUSED) == 0) {
+            positions[slot] += (now - syncTimes[slot]) * 1e-9f * pitches[slot];
+        }
+        syncTimes[slot] = now;
+
+        // End instance once it reaches the end
+        if(duration > 0 && positions[slot] >= duration) {
+            if((flags[slot] & FLAG_LOOPING) != 0) {
+                positions[slot] %= duration;
+            } else {
+                release(slot);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int allocate() {
+        // Reclaim slots of instances that ended by themselves before growing
+        if(freeCount == 0 && usedSlots == ids.length) {
+            long now = audio.getTime();
+            for(int slot = 0; slot < usedSlots; slot++) {
+                if(ids[slot] != 0) sync(slot, now);
+            }
+        }
+        if(freeCount > 0) return freeSlots[--freeCount];
+
+        // Out of slots
+        if(usedSlots > SLOT_MASK) return -1;
+        if(usedSlots == ids.length) resize(usedSlots << 1);
+        return usedSlots++;
+    }
+
+    private void release(int slot) {
+        ids[slot] = 0;
+        if(freeCount == freeSlots.length) {
+            int[] newFreeSlots = new int[freeCount << 1];
+            System.arraycopy(freeSlots, 0, newFreeSlots, 0, freeCount);
+            freeSlots = newFreeSlots;
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void resize(int capacity) {
+        long[] newIds = new long[capacity];
+        System.arraycopy(ids, 0, newIds, 0, ids.length);
+        ids = newIds;
+        float[] newVolumes = new float[capacity];
+        System.arraycopy(volumes, 0, newVolumes, 0, volumes.length);
+        volumes = newVolumes;
+        float[] newPans = new float[capacity];
+        System.arraycopy(pans, 0, newPans, 0, pans.length);
+        pans = newPans;
+        float[] newPitches = new float[capacity];
+        System.arraycopy(pitches, 0, newPitches, 0, pitches.length);
+        pitches = newPitches;
+        float[] newPositions = new float[capacity];
+        System.arraycopy(positions, 0, newPositions, 0, positions.length);
+        positions = newPositions;
+        long[] newSyncTimes = new long[capacity];
+        System.arraycopy(syncTimes, 0, newSyncTimes, 0, syncTimes.length);
+        syncTimes = newSyncTimes;
+        byte[] newFlags = new byte[capacity];
+        System.arraycopy(flags, 0, newFlags, 0, flags.length);
+        flags = newFlags;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -9,6 +9,7 @@ import com.rafaskoberg.boom.Boom;
 import com.rafaskoberg.gdx.parrot.Parrot;
 import com.rafaskoberg.gdx.parrot.ParrotSettings;
 import com.rafaskoberg.gdx.parrot.music.MusicInstance.State;
+import com.rafaskoberg.gdx.parrot.util.LoudnessCurve;
 import com.rafaskoberg.gdx.parrot.util.ParrotUtils;
 
 /**
@@ -25,7 +26,7 @@ public class MusicPlayerImpl implements MusicPlayer {
     // Members
     private final Parrot parrot;
     private final ParrotSettings settings;
-    private final LoudnessInterpolation interpolation;
+    private final LoudnessCurve loudnessCurve;
     protected Boom boom;
     private float rawVolume;
     private float masterVolume;
@@ -39,7 +40,7 @@ public class MusicPlayerImpl implements MusicPlayer {
         // Members
         this.parrot = parrot;
         this.settings = parrot.getSettings();
-        this.interpolation = new LoudnessInterpolation();
+        this.loudnessCurve = new LoudnessCurve(settings);
         this.rawVolume = 1;
         this.masterVolume = 1;
     }
@@ -60,7 +61,7 @@ public class MusicPlayerImpl implements MusicPlayer {
         this.rawVolume = MathUtils.clamp(volume, 0, 1);
 
         // Calculate perceived volume
-        float perceivedVolume = ParrotUtils.getPerceivedVolume(rawVolume, settings.loudnessExponentialCurve);
+        float perceivedVolume = loudnessCurve.getPerceivedVolume(rawVolume);
 
         // Calculate volume and factor differences in decibels
         float volumeDiffDb = ParrotUtils.volumeToDb(this.masterVolume) - ParrotUtils.volumeToDb(perceivedVolume);
@@ -86,7 +87,7 @@ public class MusicPlayerImpl implements MusicPlayer {
         rawVolumesByChannel.put(channel, rawVolume);
 
         // Calculate perceived volume
-        float perceivedVolume = ParrotUtils.getPerceivedVolume(rawVolume, settings.loudnessExponentialCurve);
+        float perceivedVolume = loudnessCurve.getPerceivedVolume(rawVolume);
 
         // Calculate volume and factor differences in decibels
         float oldVolume = volumesByChannel.get(channel, 1);
@@ -105,6 +106,8 @@ public class MusicPlayerImpl implements MusicPlayer {
 
     @Override
     public void updateMusic(float delta) {
+        long startTime = System.nanoTime();
+
         // Iterate through all music
         for(int i = musicInstances.size - 1; i >= 0; i--) {
             MusicInstance musicInstance = musicInstances.get(i);
@@ -149,7 +152,7 @@ public class MusicPlayerImpl implements MusicPlayer {
 
                     // Process fade-in
                     float progress = MathUtils.clamp(musicInstance.stateTimer / Math.max(settings.musicFadeInDuration, 0.00001f), 0, 1);
-                    float perceivedProgress = interpolation.applyIn(progress);
+                    float perceivedProgress = loudnessCurve.applyIn(progress);
                     float volume = MathUtils.lerp(0, musicInstance.targetVolume, perceivedProgress);
                     music.setVolume(MathUtils.clamp(volume, MIN_VOLUME, 1));
                     if(musicInstance.stateTimer > settings.musicFadeInDuration) {
@@ -173,7 +176,7 @@ public class MusicPlayerImpl implements MusicPlayer {
                 case FADING_OUT: {
                     // Process fade-out
                     float progress = MathUtils.clamp(musicInstance.stateTimer / Math.max(settings.musicFadeOutDuration, 0.00001f), 0, 1);
-                    float perceivedProgress = interpolation.applyOut(progress);
+                    float perceivedProgress = loudnessCurve.applyOut(progress);
                     float volume = MathUtils.lerp(musicInstance.targetVolume, MIN_VOLUME, perceivedProgress);
                     if(music.isPlaying()) {
                         music.setVolume(MathUtils.clamp(volume, MIN_VOLUME, 1));
@@ -204,6 +207,9 @@ public class MusicPlayerImpl implements MusicPlayer {
                 Pools.free(musicInstance);
             }
         }
+
+        // Record timing
+        parrot.getMetrics().getMusicUpdateTiming().record(System.nanoTime() - startTime, delta);
     }
 
     @Override
@@ -232,7 +238,7 @@ public class MusicPlayerImpl implements MusicPlayer {
             }
 
             // Calculate perceived relative volume
-            float relativeVolume = ParrotUtils.getPerceivedVolume(musicType.getRelativeVolume(), settings.loudnessExponentialCurve);
+            float relativeVolume = loudnessCurve.getPerceivedVolume(musicType.getRelativeVolume());
 
             // Configure MusicInstance
             musicInstance.state = State.SILENT;
@@ -318,7 +324,7 @@ public class MusicPlayerImpl implements MusicPlayer {
             musicInstance.state = State.FADING_IN;
             musicInstance.nextState = State.PLAYING;
             musicInstance.stateTimer = 0;
-            float relativeVolume = ParrotUtils.getPerceivedVolume(musicInstance.musicType.getRelativeVolume(), settings.loudnessExponentialCurve);
+            float relativeVolume = loudnessCurve.getPerceivedVolume(musicInstance.musicType.getRelativeVolume());
             musicInstance.targetVolume = masterVolume * relativeVolume * volumesByChannel.get(musicInstance.channel, 1);
             if(!gracefully) {
                 musicInstance.stateTimer = Float.MAX_VALUE;
@@ -423,16 +429,4 @@ public class MusicPlayerImpl implements MusicPlayer {
         musicInstances.clear();
     }
 
-    class LoudnessInterpolation {
-        float applyIn(float a) {
-            int power = settings.loudnessExponentialCurve;
-            return (float) Math.pow(a, power);
-        }
-
-        float applyOut(float a) {
-            int power = settings.loudnessExponentialCurve;
-            return (float) Math.pow(a - 1, power) * (power % 2 == 0 ? -1 : 1) + 1;
-        }
-    }
-
 }
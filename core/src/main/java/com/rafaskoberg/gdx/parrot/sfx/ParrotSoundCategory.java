@@ -10,6 +10,15 @@ public interface ParrotSoundCategory {
      */
     int getVoices();
 
+    /**
+     * Returns the amount of voices of this category guaranteed to get a native source when the global voice budget is full, see
+     * {@link com.rafaskoberg.gdx.parrot.ParrotSettings#soundVoiceBudget}. Voices of categories using more than their reservation are stolen
+     * first. The sum of reservations of all categories shouldn't exceed the budget. Defaults to 0.
+     */
+    default int getReservedVoices() {
+        return 0;
+    }
+
     /**
      * Returns whether or not this sound category is spatial, meaning distance factors should be calculated to modify pan and volume, giving
      * a 3D sensation. Note that spatial effects only work for mono sounds.
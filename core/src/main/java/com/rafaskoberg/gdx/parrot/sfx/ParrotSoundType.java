@@ -76,6 +76,33 @@ public interface ParrotSoundType {
         return 0;
     }
 
+    /**
+     * Returns the time window in seconds in which plays of this sound type are coalesced. Plays of {@link PlaybackMode#NORMAL} sounds made
+     * while another sound of this type has been alive for less than this window, and within {@link #getCoalesceRadius()} of it, are merged
+     * into that sound instead of creating a new voice. The merged sound moves to the centroid of all plays, and its volume grows with their
+     * combined power, up to {@link #getCoalesceMaxVolumeFactor()}. Plays are only merged into sounds using the same Boom channel, and the
+     * same sound if they handpick a sound index. The pitch passed to merged plays is ignored, and the merged sound keeps its own. Defaults
+     * to 0, which disables coalescing.
+     */
+    default float getCoalesceWindow() {
+        return 0;
+    }
+
+    /**
+     * Returns the maximum distance between the plays of this sound type that can be coalesced. See {@link #getCoalesceWindow()}. Defaults
+     * to {@link Float#POSITIVE_INFINITY}.
+     */
+    default float getCoalesceRadius() {
+        return Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the maximum volume factor a coalesced sound of this type can reach. See {@link #getCoalesceWindow()}. Defaults to 2.
+     */
+    default float getCoalesceMaxVolumeFactor() {
+        return 2;
+    }
+
     /**
      * Returns the non random shuffle object of this sound type.
      * <li>The closer to 0 its factor is, the more random the sound index selection of a type will be.</li>
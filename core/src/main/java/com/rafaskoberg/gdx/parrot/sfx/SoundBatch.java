@@ -0,0 +1,162 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+/**
+ * Buffer of sound play requests to be registered at once through {@link SoundPlayer#playSounds(SoundBatch)}, e.g. when spawning a volley of
+ * projectiles. Requests are packed into primitive arrays, and voices are limited once for the whole batch instead of once per sound.
+ * <p>
+ * Batches can be reused: call {@link #clear()} before filling them again.
+ */
+public class SoundBatch {
+    private static final int FLOAT_STRIDE = 4;
+    private static final int INT_STRIDE = 3;
+    private static final PlaybackMode[] MODES = PlaybackMode.values();
+
+    private ParrotSoundType[] types;
+    private float[] floats;
+    private int[] ints;
+    private long[] ids;
+    private int size;
+
+    public SoundBatch() {
+        this(16);
+    }
+
+    /**
+     * @param capacity Amount of requests this batch can hold before growing.
+     */
+    public SoundBatch(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.types = new ParrotSoundType[capacity];
+        this.floats = new float[capacity * FLOAT_STRIDE];
+        this.ints = new int[capacity * INT_STRIDE];
+        this.ids = new long[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a request to play a {@link ParrotSoundType} at the given coordinates.
+     *
+     * @return the index of the request.
+     */
+    public int add(ParrotSoundType type, float x, float y) {
+        return add(type, -1, x, y, 1f, 1f, null, -1);
+    }
+
+    /**
+     * Adds a request to play a {@link ParrotSoundType} with the given attributes.
+     *
+     * @return the index of the request.
+     */
+    public int add(ParrotSoundType type, float x, float y, float volumeFactor, float pitch) {
+        return add(type, -1, x, y, volumeFactor, pitch, null, -1);
+    }
+
+    /**
+     * Adds a request to play a {@link ParrotSoundType} with the given attributes. See
+     * {@link SoundPlayer#playSound(ParrotSoundType, int, float, float, float, float, PlaybackMode, int)}.
+     *
+     * @return the index of the request.
+     */
+    public int add(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel) {
+        if(type == null) throw new IllegalArgumentException("type cannot be null.");
+        int index = size;
+        if(index == types.length) {
+            resize(index << 1);
+        }
+        types[index] = type;
+        int f = index * FLOAT_STRIDE;
+        floats[f] = x;
+        floats[f + 1] = y;
+        floats[f + 2] = volumeFactor;
+        floats[f + 3] = pitch;
+        int i = index * INT_STRIDE;
+        ints[i] = soundIndex;
+        ints[i + 1] = boomChannel;
+        ints[i + 2] = mode == null ? -1 : mode.ordinal();
+        ids[index] = -1;
+        size++;
+        return index;
+    }
+
+    /**
+     * Returns the amount of requests in this batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ID of the sound played by the given request, or -1 if it wasn't played or the batch wasn't played yet.
+     */
+    public long getId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * Removes all requests from this batch.
+     */
+    public void clear() {
+        for(int i = 0; i < size; i++) {
+            types[i] = null;
+        }
+        size = 0;
+    }
+
+    ParrotSoundType getType(int index) {
+        return types[index];
+    }
+
+    int getSoundIndex(int index) {
+        return ints[index * INT_STRIDE];
+    }
+
+    int getBoomChannel(int index) {
+        return ints[index * INT_STRIDE + 1];
+    }
+
+    PlaybackMode getMode(int index) {
+        int ordinal = ints[index * INT_STRIDE + 2];
+        return ordinal < 0 ? null : MODES[ordinal];
+    }
+
+    float getX(int index) {
+        return floats[index * FLOAT_STRIDE];
+    }
+
+    float getY(int index) {
+        return floats[index * FLOAT_STRIDE + 1];
+    }
+
+    float getVolumeFactor(int index) {
+        return floats[index * FLOAT_STRIDE + 2];
+    }
+
+    float getPitch(int index) {
+        return floats[index * FLOAT_STRIDE + 3];
+    }
+
+    void setId(int index, long id) {
+        ids[index] = id;
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+    }
+
+    private void resize(int capacity) {
+        ParrotSoundType[] newTypes = new ParrotSoundType[capacity];
+        System.arraycopy(types, 0, newTypes, 0, size);
+        types = newTypes;
+        float[] newFloats = new float[capacity * FLOAT_STRIDE];
+        System.arraycopy(floats, 0, newFloats, 0, size * FLOAT_STRIDE);
+        floats = newFloats;
+        int[] newInts = new int[capacity * INT_STRIDE];
+        System.arraycopy(ints, 0, newInts, 0, size * INT_STRIDE);
+        ints = newInts;
+        long[] newIds = new long[capacity];
+        System.arraycopy(ids, 0, newIds, 0, size);
+        ids = newIds;
+    }
+
+}
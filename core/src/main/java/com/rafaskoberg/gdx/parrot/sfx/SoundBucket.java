@@ -0,0 +1,93 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+/**
+ * Dense unordered list containing every {@link SoundInstance} of either a {@link ParrotSoundType} or a {@link ParrotSoundCategory},
+ * regardless of their state. Instances store their own slot in the buckets they belong to, so removals are a constant time swap with the
+ * last instance.
+ * <p>
+ * Since removing an instance moves the last one into its slot, buckets should be iterated backwards when instances are removed along the
+ * way.
+ */
+class SoundBucket {
+    private final boolean byCategory;
+    private SoundInstance[] items;
+    private int size;
+
+    /**
+     * @param byCategory Whether this bucket holds the instances of a category instead of the instances of a type.
+     */
+    SoundBucket(boolean byCategory) {
+        this.byCategory = byCategory;
+        this.items = new SoundInstance[16];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the amount of instances in this bucket.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the instance in the given slot.
+     */
+    SoundInstance get(int index) {
+        return items[index];
+    }
+
+    /**
+     * Adds the given instance to this bucket.
+     */
+    void add(SoundInstance soundInstance) {
+        if(size == items.length) {
+            SoundInstance[] newItems = new SoundInstance[size << 1];
+            System.arraycopy(items, 0, newItems, 0, size);
+            items = newItems;
+        }
+        place(soundInstance, size++);
+    }
+
+    /**
+     * Removes the given instance from this bucket, if present.
+     */
+    void remove(SoundInstance soundInstance) {
+        int index = getSlot(soundInstance);
+        if(index < 0 || index >= size || items[index] != soundInstance) return;
+        SoundInstance last = items[--size];
+        items[size] = null;
+        if(index != size) {
+            place(last, index);
+        }
+        setSlot(soundInstance, -1);
+    }
+
+    /**
+     * Removes all instances from this bucket.
+     */
+    void clear() {
+        for(int i = 0; i < size; i++) {
+            setSlot(items[i], -1);
+            items[i] = null;
+        }
+        size = 0;
+    }
+
+    private void place(SoundInstance soundInstance, int index) {
+        items[index] = soundInstance;
+        setSlot(soundInstance, index);
+    }
+
+    private int getSlot(SoundInstance soundInstance) {
+        return byCategory ? soundInstance.categorySlot : soundInstance.typeSlot;
+    }
+
+    private void setSlot(SoundInstance soundInstance, int index) {
+        if(byCategory) {
+            soundInstance.categorySlot = index;
+        } else {
+            soundInstance.typeSlot = index;
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer single-consumer queue of sound commands. Any thread can offer commands without locking, while the thread
+ * updating the sound player polls them. Commands are written into preallocated slots, so neither side allocates.
+ * <p>
+ * Each slot carries a sequence number telling whether it's free for the producer claiming a given position, or ready for the consumer.
+ * Producers claim positions through a single compare-and-set on the tail, and publish their commands by advancing the slot's sequence.
+ */
+class SoundCommandQueue {
+    static final int PLAY = 1;
+    static final int STOP = 2;
+    static final int KILL = 3;
+    static final int TOUCH = 4;
+    static final int SET_COORDINATES = 5;
+
+    /**
+     * Bit set in the IDs returned for queued plays, which are resolved to real IDs once the queue is drained.
+     */
+    static final long TICKET_BIT = 1L << 62;
+
+    private static final PlaybackMode[] MODES = PlaybackMode.values();
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private long head;
+
+    // Slot payloads
+    private final int[] kinds;
+    private final ParrotSoundType[] types;
+    private final long[] ids;
+    private final float[] floats;
+    private final int[] ints;
+
+    /**
+     * @param capacity Maximum amount of pending commands, rounded up to the next power of two.
+     */
+    SoundCommandQueue(int capacity) {
+        capacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for(int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.head = 0;
+        this.kinds = new int[capacity];
+        this.types = new ParrotSoundType[capacity];
+        this.ids = new long[capacity];
+        this.floats = new float[capacity * 4];
+        this.ints = new int[capacity * 3];
+    }
+
+    /**
+     * Returns the maximum amount of pending commands.
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Offers a command to play a sound. Thread-safe.
+     *
+     * @return The ticket ID of the sound, or -1 if the queue is full.
+     */
+    long offerPlay(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel) {
+        long position = claim();
+        if(position < 0) return -1;
+        int slot = (int) position & mask;
+        long ticket = toTicket(position);
+        kinds[slot] = PLAY;
+        types[slot] = type;
+        ids[slot] = ticket;
+        floats[slot * 4] = x;
+        floats[slot * 4 + 1] = y;
+        floats[slot * 4 + 2] = volumeFactor;
+        floats[slot * 4 + 3] = pitch;
+        ints[slot * 3] = soundIndex;
+        ints[slot * 3 + 1] = boomChannel;
+        ints[slot * 3 + 2] = mode == null ? -1 : mode.ordinal();
+        publish(slot, position);
+        return ticket;
+    }
+
+    /**
+     * Offers a command targeting an existing sound, such as {@link #STOP}, {@link #KILL} or {@link #TOUCH}. Thread-safe.
+     *
+     * @return Whether or not the command was queued. Returns false if the queue is full.
+     */
+    boolean offer(int kind, long id) {
+        return offer(kind, id, 0, 0);
+    }
+
+    /**
+     * Offers a command targeting an existing sound, along with coordinates. Thread-safe.
+     *
+     * @return Whether or not the command was queued. Returns false if the queue is full.
+     */
+    boolean offer(int kind, long id, float x, float y) {
+        long position = claim();
+        if(position < 0) return false;
+        int slot = (int) position & mask;
+        kinds[slot] = kind;
+        types[slot] = null;
+        ids[slot] = id;
+        floats[slot * 4] = x;
+        floats[slot * 4 + 1] = y;
+        publish(slot, position);
+        return true;
+    }
+
+    /**
+     * Moves the next command into the given holder. Must only be called by the consumer thread.
+     *
+     * @return Whether or not there was a command to be polled.
+     */
+    boolean poll(Command command) {
+        int slot = (int) head & mask;
+        if(sequences.get(slot) != head + 1) return false;
+        command.kind = kinds[slot];
+        command.type = types[slot];
+        command.id = ids[slot];
+        command.x = floats[slot * 4];
+        command.y = floats[slot * 4 + 1];
+        command.volumeFactor = floats[slot * 4 + 2];
+        command.pitch = floats[slot * 4 + 3];
+        command.soundIndex = ints[slot * 3];
+        command.boomChannel = ints[slot * 3 + 1];
+        int mode = ints[slot * 3 + 2];
+        command.mode = mode < 0 ? null : MODES[mode];
+        types[slot] = null;
+
+        // Release slot for the producer of the next lap
+        sequences.set(slot, head + capacity);
+        head++;
+        return true;
+    }
+
+    /**
+     * Claims the next position of the queue.
+     *
+     * @return The claimed position, or -1 if the queue is full.
+     */
+    private long claim() {
+        long position = tail.get();
+        while(true) {
+            long sequence = sequences.get((int) position & mask);
+            long difference = sequence - position;
+            if(difference == 0) {
+                if(tail.compareAndSet(position, position + 1)) return position;
+                position = tail.get();
+            } else if(difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void publish(int slot, long position) {
+        sequences.set(slot, position + 1);
+    }
+
+    private static long toTicket(long position) {
+        return TICKET_BIT | ((position + 1) & (TICKET_BIT - 1));
+    }
+
+    /**
+     * Returns whether or not the given ID is a ticket of a queued play.
+     */
+    static boolean isTicket(long id) {
+        return id > 0 && (id & TICKET_BIT) != 0;
+    }
+
+    /**
+     * Mutable holder for commands polled from the queue.
+     */
+    static class Command {
+        int kind;
+        ParrotSoundType type;
+        long id;
+        float x;
+        float y;
+        float volumeFactor;
+        float pitch;
+        int soundIndex;
+        int boomChannel;
+        PlaybackMode mode;
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Uniform grid hashing the positions of spatial {@link SoundInstance}s, so sounds near a point or inside a region can be found without
+ * iterating through every sound. Each cell holds an intrusive linked list threaded through the instances themselves, so moving a sound to
+ * another cell doesn't allocate.
+ */
+class SoundGrid {
+    private final SoundInstanceTable table;
+    private final LongMap<SoundInstance> cells;
+    private float cellSize;
+    private float inverseCellSize;
+
+    SoundGrid(SoundInstanceTable table, float cellSize) {
+        this.table = table;
+        this.cells = new LongMap<>();
+        setCellSize(cellSize);
+    }
+
+    /**
+     * Returns the size of each cell.
+     */
+    float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Changes the size of each cell, rehashing all sounds in the grid.
+     */
+    void setCellSize(float cellSize) {
+        if(cellSize <= 0) throw new IllegalArgumentException("cellSize must be positive.");
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1 / cellSize;
+
+        // Rehash sounds already in the grid
+        if(cells.size > 0) {
+            cells.clear();
+            for(int i = 0; i < table.size(); i++) {
+                SoundInstance soundInstance = table.instances.get(i);
+                if(soundInstance.grid == this) {
+                    soundInstance.grid = null;
+                    add(soundInstance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the given registered instance to the cell matching its position.
+     */
+    void add(SoundInstance soundInstance) {
+        if(soundInstance.grid == this) return;
+        int index = soundInstance.index;
+        link(soundInstance, getCell(table.positionX[index], table.positionY[index]));
+        soundInstance.grid = this;
+    }
+
+    /**
+     * Moves the given instance to the cell matching its current position. Should be called whenever its position changes.
+     */
+    void update(SoundInstance soundInstance) {
+        if(soundInstance.grid != this) return;
+        int index = soundInstance.index;
+        long cell = getCell(table.positionX[index], table.positionY[index]);
+        if(cell == soundInstance.gridCell) return;
+        unlink(soundInstance);
+        link(soundInstance, cell);
+    }
+
+    /**
+     * Removes the given instance from this grid, if present.
+     */
+    void remove(SoundInstance soundInstance) {
+        if(soundInstance.grid != this) return;
+        unlink(soundInstance);
+        soundInstance.grid = null;
+    }
+
+    /**
+     * Removes all instances from this grid.
+     */
+    void clear() {
+        for(int i = 0; i < table.size(); i++) {
+            SoundInstance soundInstance = table.instances.get(i);
+            if(soundInstance.grid == this) {
+                soundInstance.grid = null;
+                soundInstance.gridPrev = null;
+                soundInstance.gridNext = null;
+            }
+        }
+        cells.clear();
+    }
+
+    /**
+     * Adds all sounds within the given radius of a point to the given array.
+     *
+     * @return The amount of sounds added.
+     */
+    int findInRadius(float x, float y, float radius, Array<SoundInstance> out) {
+        if(radius < 0) return 0;
+        float radius2 = radius * radius;
+        int added = 0;
+        int minCellX = toCell(x - radius);
+        int minCellY = toCell(y - radius);
+        int maxCellX = toCell(x + radius);
+        int maxCellY = toCell(y + radius);
+
+        // Scanning the table is cheaper than visiting more cells than there are sounds
+        if(countCells(minCellX, minCellY, maxCellX, maxCellY) > table.size()) {
+            for(int i = 0; i < table.size(); i++) {
+                SoundInstance soundInstance = table.instances.get(i);
+                if(soundInstance.grid == this && isInRadius(i, x, y, radius2)) {
+                    out.add(soundInstance);
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        for(int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for(int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                SoundInstance soundInstance = cells.get(getKey(cellX, cellY));
+                while(soundInstance != null) {
+                    if(isInRadius(soundInstance.index, x, y, radius2)) {
+                        out.add(soundInstance);
+                        added++;
+                    }
+                    soundInstance = soundInstance.gridNext;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds all sounds inside the given axis-aligned region to the given array.
+     *
+     * @return The amount of sounds added.
+     */
+    int findInRegion(float minX, float minY, float maxX, float maxY, Array<SoundInstance> out) {
+        if(maxX < minX || maxY < minY) return 0;
+        int added = 0;
+        int minCellX = toCell(minX);
+        int minCellY = toCell(minY);
+        int maxCellX = toCell(maxX);
+        int maxCellY = toCell(maxY);
+
+        // Scanning the table is cheaper than visiting more cells than there are sounds
+        if(countCells(minCellX, minCellY, maxCellX, maxCellY) > table.size()) {
+            for(int i = 0; i < table.size(); i++) {
+                SoundInstance soundInstance = table.instances.get(i);
+                if(soundInstance.grid == this && isInRegion(i, minX, minY, maxX, maxY)) {
+                    out.add(soundInstance);
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        for(int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for(int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                SoundInstance soundInstance = cells.get(getKey(cellX, cellY));
+                while(soundInstance != null) {
+                    if(isInRegion(soundInstance.index, minX, minY, maxX, maxY)) {
+                        out.add(soundInstance);
+                        added++;
+                    }
+                    soundInstance = soundInstance.gridNext;
+                }
+            }
+        }
+        return added;
+    }
+
+    private boolean isInRadius(int index, float x, float y, float radius2) {
+        float dstX = table.positionX[index] - x;
+        float dstY = table.positionY[index] - y;
+        return dstX * dstX + dstY * dstY <= radius2;
+    }
+
+    private boolean isInRegion(int index, float minX, float minY, float maxX, float maxY) {
+        float x = table.positionX[index];
+        float y = table.positionY[index];
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    private void link(SoundInstance soundInstance, long cell) {
+        SoundInstance head = cells.get(cell);
+        soundInstance.gridCell = cell;
+        soundInstance.gridPrev = null;
+        soundInstance.gridNext = head;
+        if(head != null) head.gridPrev = soundInstance;
+        cells.put(cell, soundInstance);
+    }
+
+    private void unlink(SoundInstance soundInstance) {
+        SoundInstance prev = soundInstance.gridPrev;
+        SoundInstance next = soundInstance.gridNext;
+        if(next != null) next.gridPrev = prev;
+        if(prev != null) {
+            prev.gridNext = next;
+        } else if(next != null) {
+            cells.put(soundInstance.gridCell, next);
+        } else {
+            cells.remove(soundInstance.gridCell);
+        }
+        soundInstance.gridPrev = null;
+        soundInstance.gridNext = null;
+    }
+
+    private long getCell(float x, float y) {
+        return getKey(toCell(x), toCell(y));
+    }
+
+    private int toCell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private static long getKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static long countCells(int minCellX, int minCellY, int maxCellX, int maxCellY) {
+        return ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+/**
+ * Issues the public IDs of {@link SoundInstance}s and resolves them back. Each ID encodes a slot index in its lower 32 bits and the
+ * generation of that slot in its upper 32 bits. Slots are recycled once their sounds are released, but their generation is bumped, so
+ * stale IDs held by users are detected by a single comparison instead of a hash lookup.
+ * <p>
+ * IDs are always positive, so they never collide with {@code -1}, which represents invalid sounds. Generations are kept below 2^30, leaving
+ * bit 62 free for the tickets of {@link SoundCommandQueue}.
+ */
+class SoundHandles {
+    private static final int MAX_GENERATION = (1 << 30) - 1;
+
+    private SoundInstance[] instances;
+    private int[] generations;
+    private int[] freeSlots;
+    private int freeCount;
+    private int usedSlots;
+
+    SoundHandles() {
+        this.instances = new SoundInstance[16];
+        this.generations = new int[16];
+        this.freeSlots = new int[16];
+        this.freeCount = 0;
+        this.usedSlots = 0;
+    }
+
+    /**
+     * Assigns a slot to the given instance and returns its ID.
+     */
+    long allocate(SoundInstance soundInstance) {
+        int slot;
+        if(freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = usedSlots++;
+            if(slot == instances.length) {
+                resize(slot << 1);
+            }
+            generations[slot] = 1;
+        }
+        instances[slot] = soundInstance;
+        return ((long) generations[slot] << 32) | slot;
+    }
+
+    /**
+     * Returns the instance associated with the given ID, or {@code null} if the ID is invalid or stale.
+     */
+    SoundInstance get(long id) {
+        if(id <= 0) return null;
+        int slot = (int) id;
+        if(slot < 0 || slot >= usedSlots) return null;
+        if(generations[slot] != (int) (id >>> 32)) return null;
+        return instances[slot];
+    }
+
+    /**
+     * Releases the slot of the given ID, invalidating it. Does nothing if the ID is invalid or stale.
+     */
+    void release(long id) {
+        if(get(id) == null) return;
+        int slot = (int) id;
+        instances[slot] = null;
+
+        // Bump generation, wrapping before it would reach the ticket bit
+        int generation = generations[slot] + 1;
+        generations[slot] = generation > MAX_GENERATION ? 1 : generation;
+
+        // Recycle slot
+        if(freeCount == freeSlots.length) {
+            int[] newFreeSlots = new int[freeCount << 1];
+            System.arraycopy(freeSlots, 0, newFreeSlots, 0, freeCount);
+            freeSlots = newFreeSlots;
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Releases all slots, invalidating every ID issued so far.
+     */
+    void clear() {
+        for(int slot = 0; slot < usedSlots; slot++) {
+            if(instances[slot] != null) {
+                release(((long) generations[slot] << 32) | slot);
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        SoundInstance[] newInstances = new SoundInstance[capacity];
+        System.arraycopy(instances, 0, newInstances, 0, instances.length);
+        instances = newInstances;
+        int[] newGenerations = new int[capacity];
+        System.arraycopy(generations, 0, newGenerations, 0, generations.length);
+        generations = newGenerations;
+    }
+
+}
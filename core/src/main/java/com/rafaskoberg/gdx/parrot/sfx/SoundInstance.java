@@ -2,7 +2,9 @@ package com.rafaskoberg.gdx.parrot.sfx;
 
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.LongArray;
 import com.badlogic.gdx.utils.Pool.Poolable;
+import com.rafaskoberg.gdx.parrot.ParrotSettings;
 
 /**
  * {@link Sound} wrapper containing a lot of extra information to improve the sound handling.
@@ -12,22 +14,34 @@ public class SoundInstance implements Poolable {
     protected ParrotSoundType type;
     protected long internalId;
     protected long id;
-    protected float positionX;
-    protected float positionY;
-    protected float volumeFactor;
+    protected LongArray tickets;
+    protected long sequence;
+    protected SoundInstanceTable table;
+    protected int index;
     protected float volumeVariation;
     protected float pitch;
-    protected boolean isDying;
-    protected boolean playMe;
     protected PlaybackMode playbackMode;
-    protected long lastTouch;
-    protected float duration;
-    protected float time;
-    protected float currentVolume;
-    protected float currentPan;
     protected int boomChannel;
-    protected boolean persistent;
-    protected int priority;
+    protected VoiceHeap typeVoices;
+    protected VoiceHeap categoryVoices;
+    protected VoiceHeap nativeVoices;
+    protected int typeVoiceIndex;
+    protected int categoryVoiceIndex;
+    protected int nativeVoiceIndex;
+    protected int typeSlot;
+    protected int categorySlot;
+    protected SoundGrid grid;
+    protected long gridCell;
+    protected SoundInstance gridPrev;
+    protected SoundInstance gridNext;
+    protected SoundInstance dyingPrev;
+    protected SoundInstance dyingNext;
+    protected int coalescedCount;
+    protected float coalescedSumX;
+    protected float coalescedSumY;
+    protected float coalescedPower;
+
+    // Per-frame state such as position, time and volume lives in the sound player's SoundInstanceTable, in the row given by "index".
 
     // REMINDER: Reset members
 
@@ -43,7 +57,8 @@ public class SoundInstance implements Poolable {
     }
 
     /**
-     * Returns the public ID of this instance, which is recognized by {@link SoundPlayerImpl}.
+     * Returns the public ID of this instance, which is recognized by {@link SoundPlayerImpl}. IDs of killed sounds may be recycled, but
+     * never resolve to a different sound.
      */
     public long getId() {
         return id;
@@ -74,42 +89,42 @@ public class SoundInstance implements Poolable {
      * Returns the current position of this sound in the X axis. Defaults to 0.
      */
     public float getPositionX() {
-        return positionX;
+        return table == null ? 0.0f : table.positionX[index];
     }
 
     /**
      * Returns the current position of this sound in the Y axis. Defaults to 0.
      */
     public float getPositionY() {
-        return positionY;
+        return table == null ? 0.0f : table.positionY[index];
     }
 
     /**
      * Returns the current volume of this sound, from 0 to 1.
      */
     public float getCurrentVolume() {
-        return currentVolume;
+        return table == null ? 0.0f : table.currentVolume[index];
     }
 
     /**
      * Returns the current pan of this sound, from -1 to 1.
      */
     public float getCurrentPan() {
-        return currentPan;
+        return table == null ? 0.0f : table.currentPan[index];
     }
 
     /**
      * Returns the duration in seconds of the sound associated with this instance. Returns {@code 0} in case of errors.
      */
     public float getDuration() {
-        return duration;
+        return table == null ? 0.0f : table.duration[index];
     }
 
     /**
      * Manually sets the duration in seconds of the sound associated with this instance.
      */
     public void setDuration(float duration) {
-        this.duration = duration;
+        if(table != null) table.duration[index] = duration;
     }
 
     /**
@@ -130,14 +145,14 @@ public class SoundInstance implements Poolable {
      * Returns the volume factor of this sound. Default is 1.0.
      */
     public float getVolumeFactor() {
-        return this.volumeFactor;
+        return table == null ? 1.0f : table.volumeFactor[index];
     }
 
     /**
      * Sets the volume factor of this sound. Default is 1.0.
      */
     public void setVolumeFactor(float volumeFactor) {
-        this.volumeFactor = volumeFactor;
+        if(table != null) table.volumeFactor[index] = volumeFactor;
     }
 
     /**
@@ -151,42 +166,70 @@ public class SoundInstance implements Poolable {
      * Returns {@code true} if this sound is persistent, meaning it won't be stopped after switching rooms.
      */
     public boolean isPersistent() {
-        return persistent;
+        return table != null && table.hasFlag(index, SoundInstanceTable.FLAG_PERSISTENT);
     }
 
     /**
      * Sets whether or not this sound is persistent. If {@code true}, it won't be stopped after switching rooms.
      */
     public void setPersistent(boolean persistent) {
-        this.persistent = persistent;
+        if(table != null) table.setFlag(index, SoundInstanceTable.FLAG_PERSISTENT, persistent);
     }
 
     /**
      * Returns whether or not this instance is valid. That is, if it has been played already and the internal Internal ID is valid.
      */
     public boolean isValid() {
-        return !(internalId == -1 && !playMe);
+        return !(internalId == -1 && !isWaitingToPlay() && !isVirtual());
+    }
+
+    /**
+     * Returns whether or not this sound is virtual. Virtual sounds are too quiet to be heard, so they don't hold a native source, but their
+     * time keeps advancing until they're loud enough to be played again. See {@link ParrotSettings#soundVirtualVoices}.
+     */
+    public boolean isVirtual() {
+        return table != null && table.hasFlag(index, SoundInstanceTable.FLAG_VIRTUAL);
     }
 
     /**
      * Returns whether or not this sound is valid and active.
      */
     public boolean isActive() {
-        return isValid() && !isDying;
+        return isValid() && !isDying();
+    }
+
+    /**
+     * Returns the amount of plays merged into this sound through coalescing, including the one that created it. See
+     * {@link ParrotSoundType#getCoalesceWindow()}.
+     */
+    public int getCoalescedCount() {
+        return Math.max(coalescedCount, 1);
+    }
+
+    /**
+     * Returns the audibility score used for voice stealing, which combines the current volume of this sound with its remaining duration and
+     * age. Among sounds with the same priority, the ones with the lowest score are stopped first when limiting voices.
+     */
+    public float getScore() {
+        return table == null ? 0.0f : table.score[index];
     }
 
     /**
      * Returns the priority. Lower priority sounds get voice limited first before higher priorities. Defaults to 0.
      */
     public int getPriority() {
-        return priority;
+        return table == null ? 0 : table.priority[index];
     }
 
     /**
      * Sets the priority. Lower priority sounds get voice limited first before higher priorities. Defaults to 0.
      */
     public void setPriority(int priority) {
-        this.priority = priority;
+        if(table == null) return;
+        table.priority[index] = priority;
+        if(typeVoices != null) typeVoices.update(this);
+        if(categoryVoices != null) categoryVoices.update(this);
+        if(nativeVoices != null) nativeVoices.update(this);
     }
 
     /**
@@ -195,7 +238,28 @@ public class SoundInstance implements Poolable {
     protected boolean isExpired() {
         boolean looping = playbackMode != PlaybackMode.NORMAL;
         float duration = getDuration();
-        return !looping && !MathUtils.isZero(duration) && time > duration;
+        return !looping && !MathUtils.isZero(duration) && table != null && table.time[index] > duration;
+    }
+
+    /**
+     * Returns whether or not this sound has been stopped and is fading out until it gets killed.
+     */
+    protected boolean isDying() {
+        return table != null && table.hasFlag(index, SoundInstanceTable.FLAG_DYING);
+    }
+
+    /**
+     * Returns whether or not this sound is still waiting for the next update to be played.
+     */
+    protected boolean isWaitingToPlay() {
+        return table != null && table.hasFlag(index, SoundInstanceTable.FLAG_PLAY_ME);
+    }
+
+    /**
+     * Marks this sound as touched at the current clock time, postponing the death of continuous sounds.
+     */
+    protected void touch() {
+        if(table != null) table.lastTouch[index] = table.now;
     }
 
     @Override
@@ -204,21 +268,31 @@ public class SoundInstance implements Poolable {
         this.type = null;
         this.internalId = -1;
         this.id = -1;
-        this.positionX = 0.0f;
-        this.positionY = 0.0f;
-        this.volumeFactor = 1f;
+        if(tickets != null) tickets.clear();
+        this.sequence = 0;
+        this.table = null;
+        this.index = -1;
         this.volumeVariation = 0f;
         this.pitch = 1.0f;
-        this.isDying = false;
-        this.playMe = true;
         this.playbackMode = PlaybackMode.NORMAL;
-        this.lastTouch = 0;
-        this.duration = 0.0f;
-        this.time = 0.0f;
-        this.currentVolume = 1.0f;
-        this.currentPan = 0.0f;
         this.boomChannel = -1;
-        this.persistent = false;
-        this.priority = 0;
+        this.typeVoices = null;
+        this.categoryVoices = null;
+        this.nativeVoices = null;
+        this.typeVoiceIndex = -1;
+        this.categoryVoiceIndex = -1;
+        this.nativeVoiceIndex = -1;
+        this.typeSlot = -1;
+        this.categorySlot = -1;
+        this.grid = null;
+        this.gridCell = 0;
+        this.gridPrev = null;
+        this.gridNext = null;
+        this.dyingPrev = null;
+        this.dyingNext = null;
+        this.coalescedCount = 0;
+        this.coalescedSumX = 0;
+        this.coalescedSumY = 0;
+        this.coalescedPower = 0;
     }
 }
@@ -0,0 +1,215 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Dense table holding every registered {@link SoundInstance}, along with the state the sound player touches every frame. That state is
+ * laid out as a structure of arrays, where each row belongs to the instance in the same slot of {@link #instances}, so the update loop can
+ * run through plain primitive arrays instead of following pointers.
+ * <p>
+ * Removing an instance moves the last row into the freed slot, so rows are not kept in any particular order.
+ */
+class SoundInstanceTable {
+    static final int FLAG_DYING = 1;
+    static final int FLAG_PLAY_ME = 1 << 1;
+    static final int FLAG_PERSISTENT = 1 << 2;
+    static final int FLAG_SPATIAL = 1 << 3;
+    static final int FLAG_CONTINUOUS = 1 << 4;
+    static final int FLAG_LOOPING = 1 << 5;
+    static final int FLAG_VIRTUAL = 1 << 6;
+    static final int FLAG_PITCH_DIRTY = 1 << 7;
+
+    // Instances
+    final Array<SoundInstance> instances;
+
+    // Per-instance state
+    float[] positionX;
+    float[] positionY;
+    float[] time;
+    float[] duration;
+    float[] volumeFactor;
+    float[] rawVolume;
+    float[] continuityFactor;
+    float[] currentVolume;
+    float[] currentPan;
+    float[] appliedVolume;
+    float[] appliedPan;
+    float[] score;
+    long[] lastTouch;
+    int[] flags;
+    int[] priority;
+
+    // Positions set to continuous sounds since the last update, as the last entry of a chain in SoundPlayerImpl's position buffer
+    int[] continuousHead;
+    int[] continuousCount;
+
+    // Clock time in nanoseconds, sampled at the beginning of every update
+    long now;
+
+    // Per-frame scratch columns
+    float[] gain;
+    float[] pan;
+    float[] fadeIn;
+
+    SoundInstanceTable() {
+        this.instances = new Array<>(false, 16, SoundInstance.class);
+        resize(16);
+    }
+
+    /**
+     * Returns the amount of rows in this table.
+     */
+    int size() {
+        return instances.size;
+    }
+
+    /**
+     * Adds the given instance to a new row with default values, and returns the index of that row.
+     */
+    int add(SoundInstance soundInstance) {
+        int index = instances.size;
+        if(index == flags.length) {
+            resize(index << 1);
+        }
+        instances.add(soundInstance);
+        soundInstance.table = this;
+        soundInstance.index = index;
+
+        positionX[index] = 0.0f;
+        positionY[index] = 0.0f;
+        time[index] = 0.0f;
+        duration[index] = 0.0f;
+        volumeFactor[index] = 1.0f;
+        rawVolume[index] = 1.0f;
+        continuityFactor[index] = 1.0f;
+        currentVolume[index] = 1.0f;
+        currentPan[index] = 0.0f;
+        appliedVolume[index] = 0.0f;
+        appliedPan[index] = 0.0f;
+        score[index] = 0.0f;
+        lastTouch[index] = 0;
+        flags[index] = FLAG_PLAY_ME;
+        priority[index] = 0;
+        continuousHead[index] = -1;
+        continuousCount[index] = 0;
+        gain[index] = 1.0f;
+        pan[index] = 0.0f;
+        fadeIn[index] = 1.0f;
+        return index;
+    }
+
+    /**
+     * Removes the row of the given instance, moving the last row into its place.
+     *
+     * @return Whether or not the instance was part of this table.
+     */
+    boolean remove(SoundInstance soundInstance) {
+        int index = soundInstance.index;
+        if(soundInstance.table != this || index < 0) return false;
+
+        int last = instances.size - 1;
+        instances.removeIndex(index);
+        if(index != last) {
+            instances.get(index).index = index;
+            move(last, index);
+        }
+        soundInstance.table = null;
+        soundInstance.index = -1;
+        return true;
+    }
+
+    /**
+     * Removes all rows from this table. Instances are not freed.
+     */
+    void clear() {
+        for(int i = 0; i < instances.size; i++) {
+            SoundInstance soundInstance = instances.get(i);
+            soundInstance.table = null;
+            soundInstance.index = -1;
+        }
+        instances.clear();
+    }
+
+    /**
+     * Returns whether the given row has all the given flags.
+     */
+    boolean hasFlag(int index, int flag) {
+        return (flags[index] & flag) == flag;
+    }
+
+    /**
+     * Sets or clears the given flags of a row.
+     */
+    void setFlag(int index, int flag, boolean value) {
+        if(value) {
+            flags[index] |= flag;
+        } else {
+            flags[index] &= ~flag;
+        }
+    }
+
+    private void move(int from, int to) {
+        positionX[to] = positionX[from];
+        positionY[to] = positionY[from];
+        time[to] = time[from];
+        duration[to] = duration[from];
+        volumeFactor[to] = volumeFactor[from];
+        rawVolume[to] = rawVolume[from];
+        continuityFactor[to] = continuityFactor[from];
+        currentVolume[to] = currentVolume[from];
+        currentPan[to] = currentPan[from];
+        appliedVolume[to] = appliedVolume[from];
+        appliedPan[to] = appliedPan[from];
+        score[to] = score[from];
+        lastTouch[to] = lastTouch[from];
+        flags[to] = flags[from];
+        priority[to] = priority[from];
+        continuousHead[to] = continuousHead[from];
+        continuousCount[to] = continuousCount[from];
+        gain[to] = gain[from];
+        pan[to] = pan[from];
+        fadeIn[to] = fadeIn[from];
+    }
+
+    private void resize(int capacity) {
+        positionX = copyOf(positionX, capacity);
+        positionY = copyOf(positionY, capacity);
+        time = copyOf(time, capacity);
+        duration = copyOf(duration, capacity);
+        volumeFactor = copyOf(volumeFactor, capacity);
+        rawVolume = copyOf(rawVolume, capacity);
+        continuityFactor = copyOf(continuityFactor, capacity);
+        currentVolume = copyOf(currentVolume, capacity);
+        currentPan = copyOf(currentPan, capacity);
+        appliedVolume = copyOf(appliedVolume, capacity);
+        appliedPan = copyOf(appliedPan, capacity);
+        score = copyOf(score, capacity);
+        lastTouch = copyOf(lastTouch, capacity);
+        flags = copyOf(flags, capacity);
+        priority = copyOf(priority, capacity);
+        continuousHead = copyOf(continuousHead, capacity);
+        continuousCount = copyOf(continuousCount, capacity);
+        gain = copyOf(gain, capacity);
+        pan = copyOf(pan, capacity);
+        fadeIn = copyOf(fadeIn, capacity);
+    }
+
+    private static float[] copyOf(float[] array, int capacity) {
+        float[] newArray = new float[capacity];
+        if(array != null) System.arraycopy(array, 0, newArray, 0, Math.min(array.length, capacity));
+        return newArray;
+    }
+
+    private static long[] copyOf(long[] array, int capacity) {
+        long[] newArray = new long[capacity];
+        if(array != null) System.arraycopy(array, 0, newArray, 0, Math.min(array.length, capacity));
+        return newArray;
+    }
+
+    private static int[] copyOf(int[] array, int capacity) {
+        int[] newArray = new int[capacity];
+        if(array != null) System.arraycopy(array, 0, newArray, 0, Math.min(array.length, capacity));
+        return newArray;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.rafaskoberg.gdx.parrot.sfx;
 
+import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -35,6 +36,37 @@ public interface SoundPlayer extends Disposable {
      */
     void setSpatialListenerCoordinates(float x, float y);
 
+    /**
+     * Returns the amount of listeners for spatial sound effects. Defaults to 1.
+     */
+    int getSpatialListenerCount();
+
+    /**
+     * Sets the amount of listeners for spatial sound effects, e.g. one per player in split-screen. Each spatial sound is attenuated and
+     * panned by its nearest listener. New listeners start at the coordinates of the first one, which is the listener accessed through
+     * {@link #getSpatialListenerCoordinates()} and {@link #setSpatialListenerCoordinates(float, float)}. Continuous sounds solidify to
+     * whichever of their positions is closest to any listener.
+     *
+     * @param count Amount of listeners, at least 1.
+     */
+    void setSpatialListenerCount(int count);
+
+    /**
+     * Returns the coordinates of the given listener for spatial sound effects.
+     *
+     * @param listener Index of the listener, between 0 and {@link #getSpatialListenerCount()} exclusive.
+     */
+    Vector2 getSpatialListenerCoordinates(int listener);
+
+    /**
+     * Sets the coordinates of the given listener for spatial sound effects.
+     *
+     * @param listener Index of the listener, between 0 and {@link #getSpatialListenerCount()} exclusive.
+     * @param x        X coordinate of the sound listener, for spatial sounds.
+     * @param y        Y coordinate of the sound listener, for spatial sounds.
+     */
+    void setSpatialListenerCoordinates(int listener, float x, float y);
+
     /**
      * Updates all the sounds. Must be called constantly.
      */
@@ -139,16 +171,99 @@ public interface SoundPlayer extends Disposable {
      */
     long playSound(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel);
 
+    /**
+     * Registers every request of the given {@link SoundBatch} to be played the next time this instance is updated. Voices are limited once
+     * for the whole batch, after all sounds are registered. The ID of each sound can be obtained afterwards through
+     * {@link SoundBatch#getId(int)}.
+     *
+     * @return the amount of sounds registered.
+     */
+    int playSounds(SoundBatch batch);
+
+    /**
+     * Thread-safe version of {@link #playSound(ParrotSoundType, float, float)}, see
+     * {@link #queuePlaySound(ParrotSoundType, int, float, float, float, float, PlaybackMode, int)}.
+     */
+    default long queuePlaySound(ParrotSoundType type, float x, float y) {
+        return queuePlaySound(type, -1, x, y, 1f, 1f, null, -1);
+    }
+
+    /**
+     * Thread-safe version of {@link #playSound(ParrotSoundType, float, float, float, float)}, see
+     * {@link #queuePlaySound(ParrotSoundType, int, float, float, float, float, PlaybackMode, int)}.
+     */
+    default long queuePlaySound(ParrotSoundType type, float x, float y, float volumeFactor, float pitch) {
+        return queuePlaySound(type, -1, x, y, volumeFactor, pitch, null, -1);
+    }
+
+    /**
+     * Queues a {@link ParrotSoundType} to be played with the given attributes. Can be called from any thread without locking, and the
+     * command is carried out at the beginning of the next {@link #updateSounds(float)}.
+     * <p>
+     * The returned ID is reserved right away and can be used with any method of this class, including other queued commands. It resolves
+     * to its {@link SoundInstance} once the command is carried out, and until then {@link #getSound(long)} returns {@code null} for it. It
+     * keeps resolving for as long as that sound lives, even though it differs from {@link SoundInstance#getId()}.
+     *
+     * @return the ID reserved for the sound, or -1 if the queue is full.
+     */
+    long queuePlaySound(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel);
+
+    /**
+     * Thread-safe version of {@link #stopSound(long)}, carried out at the beginning of the next {@link #updateSounds(float)}.
+     *
+     * @return whether or not the command was queued. Returns false if the queue is full.
+     */
+    boolean queueStopSound(long id);
+
+    /**
+     * Thread-safe version of {@link #killSound(long)}, carried out at the beginning of the next {@link #updateSounds(float)}.
+     *
+     * @return whether or not the command was queued. Returns false if the queue is full.
+     */
+    boolean queueKillSound(long id);
+
+    /**
+     * Thread-safe version of {@link #touchSound(long)}, carried out at the beginning of the next {@link #updateSounds(float)}.
+     *
+     * @return whether or not the command was queued. Returns false if the queue is full.
+     */
+    boolean queueTouchSound(long id);
+
+    /**
+     * Thread-safe version of {@link #setSoundCoordinates(long, float, float)}, carried out at the beginning of the next
+     * {@link #updateSounds(float)}.
+     *
+     * @return whether or not the command was queued. Returns false if the queue is full.
+     */
+    boolean queueSoundCoordinates(long id, float x, float y);
+
     /**
      * Returns the {@link SoundInstance} associated with the given ID, if any. Might return {@code null}.
      */
     SoundInstance getSound(long internalId);
 
     /**
-     * Returns an {@link Array} containing all {@link SoundInstance}s being handled by the sound player.
+     * Returns an {@link Array} containing all {@link SoundInstance}s being handled by the sound player. The order of the instances is not
+     * guaranteed, and may change whenever a sound is removed.
      */
     Array<SoundInstance> getAllSounds();
 
+    /**
+     * Adds every spatial {@link SoundInstance} within the given radius of a point to the given {@link Array}, without clearing it. Sounds are
+     * looked up through a grid, so only the ones near the point are visited.
+     *
+     * @return The amount of sounds added.
+     */
+    int getSoundsInRadius(float x, float y, float radius, Array<SoundInstance> out);
+
+    /**
+     * Adds every spatial {@link SoundInstance} inside the given axis-aligned region to the given {@link Array}, without clearing it. Sounds
+     * are looked up through a grid, so only the ones near the region are visited.
+     *
+     * @return The amount of sounds added.
+     */
+    int getSoundsInRegion(float minX, float minY, float maxX, float maxY, Array<SoundInstance> out);
+
     /**
      * Touches the sound instance associated with the given ID, so it doesn't die at the wrong time.
      *
@@ -167,7 +282,7 @@ public interface SoundPlayer extends Disposable {
         if(soundInstance == null) return false;
 
         // Touch instance
-        if(soundInstance.isActive()) soundInstance.lastTouch = System.currentTimeMillis();
+        if(soundInstance.isActive()) soundInstance.touch();
 
         // Return flag indicating if instance is valid
         return soundInstance.isValid();
@@ -256,6 +371,8 @@ public interface SoundPlayer extends Disposable {
 
     /**
      * Sets a pitch factor for the given category, which will multiply the pitch of all sounds with this category played after this call.
+     * Ongoing sounds of the category are adjusted on the next {@link #updateSounds(float)}, so calling this several times per frame only
+     * costs one pitch update per sound.
      */
     void setSoundCategoryPitchFactor(ParrotSoundCategory category, float pitchFactor);
 
@@ -295,9 +412,21 @@ public interface SoundPlayer extends Disposable {
         soundInstance.sound = null;
         soundInstance.id = -1;
         soundInstance.internalId = -1;
-        soundInstance.playMe = false;
+        if(soundInstance.table != null) soundInstance.table.setFlag(soundInstance.index, SoundInstanceTable.FLAG_PLAY_ME, false);
     }
 
+    /**
+     * Sets the duration in seconds of the given {@link Sound}, for backends that can't report it. The duration is kept until
+     * {@link #forgetSound(Sound)} is called.
+     */
+    void setSoundDuration(Sound sound, float duration);
+
+    /**
+     * Forgets everything known about the given {@link Sound}, such as its duration. Should be called when the {@link Sound} is disposed,
+     * so it's no longer referenced.
+     */
+    void forgetSound(Sound sound);
+
     /**
      * Sets the {@link Boom} instance responsible for playing sound effects.
      */
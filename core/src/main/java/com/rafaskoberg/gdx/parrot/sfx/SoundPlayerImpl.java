@@ -1,58 +1,114 @@
 package com.rafaskoberg.gdx.parrot.sfx;
 
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
 import com.badlogic.gdx.utils.LongMap;
-import com.badlogic.gdx.utils.LongMap.Entry;
 import com.badlogic.gdx.utils.ObjectFloatMap;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Pools;
 import com.rafaskoberg.boom.Boom;
 import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.ParrotClock;
+import com.rafaskoberg.gdx.parrot.ParrotMetrics;
+import com.rafaskoberg.gdx.parrot.ParrotMetrics.NativeCall;
+import com.rafaskoberg.gdx.parrot.ParrotMetrics.PlayRejection;
 import com.rafaskoberg.gdx.parrot.ParrotSettings;
-import com.rafaskoberg.gdx.parrot.util.ParrotUtils;
-
-import java.util.Comparator;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackend;
+import com.rafaskoberg.gdx.parrot.util.DistanceRolloff;
+import com.rafaskoberg.gdx.parrot.util.LoudnessCurve;
+import com.rafaskoberg.gdx.parrot.util.SoundDurationCache;
 
 /**
  * Advanced spatial sound player that handles all sounds being played in the game.
  */
 public class SoundPlayerImpl implements SoundPlayer {
+    private static final float NANOS_TO_SECONDS = 1e-9f;
+    private static final float SCORE_TOLERANCE = 0.1f;
+
     // Collections
-    private final Array<SoundInstance> soundInstances;
-    private final LongMap<SoundInstance> soundsById;
-    private final LongMap<Array<Vector2>> continuousPositionsById;
+    private final SoundInstanceTable table;
+    private final SoundHandles handles;
+    private final SoundGrid grid;
+    private final SoundCommandQueue commandQueue;
+    private final SoundCommandQueue.Command command;
+    private final LongMap<SoundInstance> soundsByTicket;
     private final ObjectFloatMap<ParrotSoundCategory> pitchFactorsByCategory;
+    private final ObjectMap<ParrotSoundType, SoundBucket> soundsByType;
+    private final ObjectMap<ParrotSoundCategory, SoundBucket> soundsByCategory;
+    private final ObjectMap<ParrotSoundType, VoiceHeap> voicesByType;
+    private final ObjectMap<ParrotSoundCategory, VoiceHeap> voicesByCategory;
+    private final ObjectMap<ParrotSoundCategory, VoiceHeap> nativeVoicesByCategory;
+    private final ObjectMap<ParrotSoundType, SoundInstance> continuousSoundsByType;
+    private final Array<ParrotSoundType> batchTypes;
+    private final Array<ParrotSoundCategory> dirtyPitchCategories;
+    private final LongArray dirtyPitchSequences;
+    private final ObjectFloatMap<ParrotSoundCategory> appliedPitchFactorsByCategory;
+    private final FloatArray continuousPositions;
+    private final IntArray continuousLinks;
 
     // Members
     private final Parrot parrot;
     private final ParrotSettings settings;
+    private final LoudnessCurve loudnessCurve;
+    private final DistanceRolloff distanceRolloff;
+    private final SoundDurationCache soundDurations;
     private final Vector2 listenerPosition;
+    private final Array<Vector2> listeners;
+    private float[] listenerX;
+    private float[] listenerY;
     private final Vector2 tmpVec;
     protected Boom boom;
-    private long nextId;
+    private long nextSequence;
     private float rawVolume;
     private float masterVolume;
-    private Comparator<SoundInstance> priorityComparator;
+    private final ParrotMetrics metrics;
+    private int virtualCount;
+    private SoundInstance dyingHead;
+    private SoundInstance dyingTail;
 
     public SoundPlayerImpl(Parrot parrot) {
         // Collections
-        this.soundInstances = new Array<>();
-        this.soundsById = new LongMap<>();
-        this.continuousPositionsById = new LongMap<>();
+        this.table = new SoundInstanceTable();
+        this.handles = new SoundHandles();
+        this.grid = new SoundGrid(table, parrot.getSettings().soundGridCellSize);
+        this.commandQueue = new SoundCommandQueue(parrot.getSettings().soundCommandQueueCapacity);
+        this.command = new SoundCommandQueue.Command();
+        this.soundsByTicket = new LongMap<>();
         this.pitchFactorsByCategory = new ObjectFloatMap<>();
+        this.soundsByType = new ObjectMap<>();
+        this.soundsByCategory = new ObjectMap<>();
+        this.voicesByType = new ObjectMap<>();
+        this.voicesByCategory = new ObjectMap<>();
+        this.nativeVoicesByCategory = new ObjectMap<>();
+        this.continuousSoundsByType = new ObjectMap<>();
+        this.batchTypes = new Array<>();
+        this.dirtyPitchCategories = new Array<>();
+        this.dirtyPitchSequences = new LongArray();
+        this.appliedPitchFactorsByCategory = new ObjectFloatMap<>();
+        this.continuousPositions = new FloatArray();
+        this.continuousLinks = new IntArray();
 
         // Members
         this.parrot = parrot;
+        this.metrics = parrot.getMetrics();
         this.settings = parrot.getSettings();
+        this.loudnessCurve = new LoudnessCurve(settings);
+        this.distanceRolloff = new DistanceRolloff(settings);
+        this.soundDurations = new SoundDurationCache();
         this.listenerPosition = new Vector2();
+        this.listeners = new Array<>(4);
+        this.listeners.add(listenerPosition);
+        this.listenerX = new float[4];
+        this.listenerY = new float[4];
         this.tmpVec = new Vector2();
-        this.nextId = 1;
+        this.nextSequence = 0;
         this.rawVolume = 1.0f;
         this.masterVolume = 1.0f;
-        this.priorityComparator = Comparator.comparingInt(SoundInstance::getPriority).thenComparingLong(SoundInstance::getId);
     }
 
     @Override
@@ -63,7 +119,7 @@ public class SoundPlayerImpl implements SoundPlayer {
     @Override
     public void setSoundPlayerVolume(float volume) {
         this.rawVolume = MathUtils.clamp(volume, 0, 1);
-        this.masterVolume = ParrotUtils.getPerceivedVolume(rawVolume, settings.loudnessExponentialCurve);
+        this.masterVolume = loudnessCurve.getPerceivedVolume(rawVolume);
     }
 
     @Override
@@ -76,27 +132,84 @@ public class SoundPlayerImpl implements SoundPlayer {
         listenerPosition.set(x, y);
     }
 
+    @Override
+    public int getSpatialListenerCount() {
+        return listeners.size;
+    }
+
+    @Override
+    public void setSpatialListenerCount(int count) {
+        if(count < 1) throw new IllegalArgumentException("count must be at least 1.");
+        while(listeners.size < count) {
+            listeners.add(new Vector2(listenerPosition));
+        }
+        listeners.truncate(count);
+        if(listenerX.length < count) {
+            listenerX = new float[count];
+            listenerY = new float[count];
+        }
+    }
+
+    @Override
+    public Vector2 getSpatialListenerCoordinates(int listener) {
+        return listeners.get(listener);
+    }
+
+    @Override
+    public void setSpatialListenerCoordinates(int listener, float x, float y) {
+        listeners.get(listener).set(x, y);
+    }
+
     @Override
     public void updateSounds(float delta) {
+        long startTime = System.nanoTime();
+
+        // Sample clock once per update
+        ParrotClock clock = parrot.getClock();
+        clock.update(delta);
+        table.now = clock.getTime();
+
+        // Carry out commands queued from other threads
+        drainCommands();
+
+        // Rehash sound positions if the grid's cell size changed
+        if(grid.getCellSize() != settings.soundGridCellSize) {
+            grid.setCellSize(settings.soundGridCellSize);
+        }
+
         // Manually solidify continuous sounds positions
-        solidifyContinuousPositions(listenerPosition.x, listenerPosition.y, delta);
+        solidifyContinuousPositions(delta);
+
+        // Update all sounds through linear passes over the instance table
+        updateLifecycles(table.now, delta);
+        updateSpatialFactors();
+        updateVolumes();
+        updateVoiceScores();
+        updateCategoryPitches();
+        applySounds();
+
+        // Record timing
+        metrics.getSoundUpdateTiming().record(System.nanoTime() - startTime, delta);
+    }
 
-        // Iterate through sounds
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
-            ParrotSoundType soundType = soundInstance.getType();
-            ParrotSoundCategory category = soundType.getCategory();
+    /**
+     * Advances the timer of all sounds, stopping and killing the ones that should end, and calculates their gain without taking distance
+     * into account.
+     */
+    private void updateLifecycles(long now, float delta) {
+        SoundInstanceTable table = this.table;
+        for(int i = 0; i < table.size(); i++) {
+            SoundInstance soundInstance = table.instances.get(i);
+            boolean continuous = table.hasFlag(i, SoundInstanceTable.FLAG_CONTINUOUS);
+            float continuityFactor = table.continuityFactor[i];
 
             // Variables
-            float continuityFactor = soundType.getContinuityFactor();
             float fadeInFactor = 1.0f;
-            float distanceFactor = 1.0f;
             float lifeFactor = 1.0f;
-            float pan = 0.0f;
 
             // Check if continuous sound should end
-            if(soundInstance.isActive() && soundInstance.getPlaybackMode() == PlaybackMode.CONTINUOUS) {
-                float inactivityTime = (System.currentTimeMillis() - soundInstance.lastTouch) / 1000f;
+            if(continuous && soundInstance.isActive()) {
+                float inactivityTime = (now - table.lastTouch[i]) * NANOS_TO_SECONDS;
                 float continuousTimeout = settings.soundContinuousTimeout * continuityFactor;
                 if(inactivityTime > continuousTimeout) {
                     stopSound(soundInstance);
@@ -104,29 +217,31 @@ public class SoundPlayerImpl implements SoundPlayer {
             }
 
             // If sound has been played but has no internal ID, something terribly wrong happened to it. Kill sound!
-            if(!soundInstance.playMe && soundInstance.internalId == (long) -1) {
+            if((table.flags[i] & (SoundInstanceTable.FLAG_PLAY_ME | SoundInstanceTable.FLAG_VIRTUAL)) == 0 && soundInstance.internalId == (long) -1) {
                 killSound(soundInstance);
                 i--;
                 continue;
             }
 
             // Calculate fade in factor
-            if(soundInstance.getPlaybackMode() == PlaybackMode.CONTINUOUS) {
+            if(continuous) {
                 float continuousFadein = settings.soundContinuousFadeIn * continuityFactor;
-                fadeInFactor = MathUtils.clamp(soundInstance.time / continuousFadein, 0.0f, 1.0f);
+                fadeInFactor = MathUtils.clamp(table.time[i] / continuousFadein, 0.0f, 1.0f);
             }
 
-            // Kill expired sounds
-            if(soundInstance.isExpired()) {
+            // Update sound's time
+            table.time[i] += delta;
+
+            // Stop expired sounds right away, so they never count as voices
+            float duration = table.duration[i];
+            boolean looping = table.hasFlag(i, SoundInstanceTable.FLAG_LOOPING);
+            if(!looping && !MathUtils.isZero(duration) && table.time[i] > duration) {
                 stopSound(soundInstance);
             }
 
-            // Update sound's time
-            soundInstance.time += delta;
-
             // Check if instance should be killed and removed
-            if(soundInstance.isDying) {
-                float deadTime = (System.currentTimeMillis() - soundInstance.lastTouch) / 1000f;
+            if(table.hasFlag(i, SoundInstanceTable.FLAG_DYING)) {
+                float deadTime = (now - table.lastTouch[i]) * NANOS_TO_SECONDS;
 
                 // Check if sound should be killed and removed
                 if(deadTime > settings.soundDeathFadeOut) {
@@ -139,167 +254,471 @@ public class SoundPlayerImpl implements SoundPlayer {
                 lifeFactor = MathUtils.clamp(1.0f - (deadTime / settings.soundDeathFadeOut), 0.0f, 1.0f);
             }
 
-            if(category != null && category.isSpatial()) {
-                // Calculate distance factor
-                tmpVec.set(soundInstance.positionX, soundInstance.positionY).sub(listenerPosition.x, listenerPosition.y);
-                float dst = tmpVec.len();
-                if(dst > settings.distanceRolloffMinDistance) {
-                    float dstFactorRaw = MathUtils.clamp((dst - settings.distanceRolloffMinDistance) / settings.distanceRolloffMaxDistance, 0.0f, 1.0f);
-                    distanceFactor = settings.distanceRolloffCurve.apply(settings.distanceRolloffMinGain, 1, 1 - dstFactorRaw);
-                } else {
-                    distanceFactor = 1;
-                }
+            // Store gain
+            table.gain[i] = fadeInFactor * lifeFactor * table.volumeFactor[i];
+            table.fadeIn[i] = fadeInFactor;
+        }
+    }
 
-                // Calculate pan
-                float dstX = tmpVec.x;
-                boolean panFacingLeft = tmpVec.x < 0.0f;
-                float panFactorRaw = MathUtils.clamp(Math.abs(dstX / settings.soundPanLimit), 0.0f, 1.0f);
-                pan = Interpolation.linear.apply(0.0f, settings.soundPanReduction, panFactorRaw);
-                if(panFacingLeft) pan *= -1.0f;
+    /**
+     * Applies the distance factor to the gain of all spatial sounds and calculates their pan.
+     */
+    private void updateSpatialFactors() {
+        if(listeners.size > 1) {
+            updateSpatialFactorsMultiListener();
+            return;
+        }
+
+        SoundInstanceTable table = this.table;
+        int size = table.size();
+        float listenerX = listenerPosition.x;
+        float listenerY = listenerPosition.y;
+        DistanceRolloff distanceRolloff = this.distanceRolloff;
+        float panLimit = settings.soundPanLimit;
+        float panReduction = settings.soundPanReduction;
+        float[] positionX = table.positionX;
+        float[] positionY = table.positionY;
+        float[] gain = table.gain;
+        float[] pan = table.pan;
+        int[] flags = table.flags;
+
+        for(int i = 0; i < size; i++) {
+            // Non-spatial sounds are always centered
+            if((flags[i] & SoundInstanceTable.FLAG_SPATIAL) == 0) {
+                pan[i] = 0.0f;
+                continue;
             }
 
-            // Apply new attributes
-            if(soundInstance.sound != null) {
+            // Calculate distance factor
+            float dstX = positionX[i] - listenerX;
+            float dstY = positionY[i] - listenerY;
+            gain[i] *= distanceRolloff.getGain(dstX * dstX + dstY * dstY);
 
-                // Calculate volume variation
-                if(soundInstance.playMe) {
-                    soundInstance.volumeVariation = soundType.getVolumeVariation() * MathUtils.randomTriangular(-1, 1, 0);
-                }
+            // Calculate pan
+            float panFactorRaw = MathUtils.clamp(Math.abs(dstX / panLimit), 0.0f, 1.0f);
+            float soundPan = panReduction * panFactorRaw;
+            pan[i] = dstX < 0.0f ? -soundPan : soundPan;
+        }
+    }
+
+    /**
+     * Same as {@link #updateSpatialFactors()}, but each sound is attenuated and panned by its nearest listener. Distance rolloff never
+     * increases with distance, so the nearest listener is also the one hearing the sound the loudest.
+     */
+    private void updateSpatialFactorsMultiListener() {
+        SoundInstanceTable table = this.table;
+        int size = table.size();
+        DistanceRolloff distanceRolloff = this.distanceRolloff;
+        float panLimit = settings.soundPanLimit;
+        float panReduction = settings.soundPanReduction;
+        float[] positionX = table.positionX;
+        float[] positionY = table.positionY;
+        float[] gain = table.gain;
+        float[] pan = table.pan;
+        int[] flags = table.flags;
+
+        // Copy listener coordinates to primitive arrays
+        int listenerCount = listeners.size;
+        float[] listenerX = this.listenerX;
+        float[] listenerY = this.listenerY;
+        for(int l = 0; l < listenerCount; l++) {
+            Vector2 listener = listeners.get(l);
+            listenerX[l] = listener.x;
+            listenerY[l] = listener.y;
+        }
 
-                // Calculate volume
-                float volumeFactors = fadeInFactor * distanceFactor * lifeFactor * soundInstance.volumeFactor;
-                float relativeVolume = ParrotUtils.getPerceivedVolume(soundType.getVolume() + soundInstance.volumeVariation, settings.loudnessExponentialCurve);
-                float soundVolume = relativeVolume * volumeFactors;
+        for(int i = 0; i < size; i++) {
+            // Non-spatial sounds are always centered
+            if((flags[i] & SoundInstanceTable.FLAG_SPATIAL) == 0) {
+                pan[i] = 0.0f;
+                continue;
+            }
 
-                // If sound is dying, keep the same pan and don't increase the volume
-                if(soundInstance.isDying) {
-                    soundVolume = Math.min(soundVolume, soundInstance.currentVolume);
-                    pan = soundInstance.currentPan;
+            // Find nearest listener
+            float x = positionX[i];
+            float y = positionY[i];
+            float dstX = x - listenerX[0];
+            float dstY = y - listenerY[0];
+            float dst2 = dstX * dstX + dstY * dstY;
+            for(int l = 1; l < listenerCount; l++) {
+                float otherDstX = x - listenerX[l];
+                float otherDstY = y - listenerY[l];
+                float otherDst2 = otherDstX * otherDstX + otherDstY * otherDstY;
+                if(otherDst2 < dst2) {
+                    dstX = otherDstX;
+                    dst2 = otherDst2;
                 }
+            }
 
-                // Apply master volume
-                float finalVolume = soundVolume * masterVolume;
+            // Calculate distance factor
+            gain[i] *= distanceRolloff.getGain(dst2);
 
-                // If sound is waiting to be played, play it
-                if(soundInstance.playMe) {
-                    soundInstance.playMe = false;
-                    boolean normal = soundInstance.playbackMode == PlaybackMode.NORMAL;
-                    long internalId;
-                    float pitch = soundInstance.pitch;
+            // Calculate pan
+            float panFactorRaw = MathUtils.clamp(Math.abs(dstX / panLimit), 0.0f, 1.0f);
+            float soundPan = panReduction * panFactorRaw;
+            pan[i] = dstX < 0.0f ? -soundPan : soundPan;
+        }
+    }
 
-                    // Apply random pitch variation to sound effect
-                    float pitchVariation = soundType.getPitchVariation() * MathUtils.randomTriangular(-1, 1, 0);
-                    pitch += pitchVariation;
+    /**
+     * Calculates the final volume and pan of all sounds and stores them in the table.
+     */
+    private void updateVolumes() {
+        SoundInstanceTable table = this.table;
+        int size = table.size();
+        LoudnessCurve loudnessCurve = this.loudnessCurve;
+        float[] rawVolume = table.rawVolume;
+        float[] gain = table.gain;
+        float[] pan = table.pan;
+        float[] currentVolume = table.currentVolume;
+        float[] currentPan = table.currentPan;
+        int[] flags = table.flags;
+
+        for(int i = 0; i < size; i++) {
+            // Calculate volume
+            float relativeVolume = loudnessCurve.getPerceivedVolume(rawVolume[i]);
+            float soundVolume = relativeVolume * gain[i];
+
+            // If sound is dying, keep the same pan and don't increase the volume
+            if((flags[i] & SoundInstanceTable.FLAG_DYING) != 0) {
+                soundVolume = Math.min(soundVolume, currentVolume[i]);
+                pan[i] = currentPan[i];
+            }
 
-                    // Apply category-based pitch factors
-                    if(category != null) {
-                        float pitchCategoryFactor = pitchFactorsByCategory.get(category, 1);
-                        pitch *= pitchCategoryFactor;
-                    }
+            // Store volume and pan
+            currentVolume[i] = soundVolume;
+            currentPan[i] = pan[i];
+        }
+    }
 
-                    if(boom == null) {
-                        // Play sound normally
-                        if(normal) {
-                            internalId = soundInstance.sound.play(finalVolume, pitch, pan);
-                        } else {
-                            internalId = soundInstance.sound.loop(finalVolume, pitch, pan);
-                        }
-                    } else {
-                        // Play sound through boom
-                        int boomChannel = soundInstance.boomChannel;
-                        if(normal) {
-                            internalId = boom.play(soundInstance.sound, boomChannel, finalVolume, pitch, pan);
-                        } else {
-                            internalId = boom.loop(soundInstance.sound, boomChannel, finalVolume, pitch, pan);
-                        }
-                    }
-                    soundInstance.internalId = internalId;
+    /**
+     * Plays sounds waiting to be played, and pushes the new volume and pan of the others to their {@link Sound} instances. Changes smaller
+     * than {@link ParrotSettings#soundVolumeUpdateThreshold} and {@link ParrotSettings#soundPanUpdateThreshold} are held back until they
+     * build up. If {@link ParrotSettings#soundVirtualVoices} is enabled, inaudible sounds are also turned virtual or real again here.
+     */
+    private void applySounds() {
+        SoundInstanceTable table = this.table;
+        ParrotBackend backend = parrot.getBackend();
+        int size = table.size();
+        float volumeThreshold = settings.soundVolumeUpdateThreshold;
+        float panThreshold = settings.soundPanUpdateThreshold;
+        boolean virtualVoices = settings.soundVirtualVoices;
+        float virtualThreshold = settings.soundVirtualVolumeThreshold;
+        float realThreshold = virtualThreshold * 2;
+        boolean canSeek = backend.canSeekSounds();
+        int voiceBudget = getVoiceBudget();
+
+        // Cheap backends don't benefit from skipping small changes
+        if(backend.hasCheapParameterUpdates()) {
+            volumeThreshold = 0;
+            panThreshold = 0;
+        }
+
+        for(int i = 0; i < size; i++) {
+            SoundInstance soundInstance = table.instances.get(i);
+            if(soundInstance.sound == null) continue;
+
+            // Apply master volume
+            float finalVolume = table.currentVolume[i] * masterVolume;
+            float pan = table.currentPan[i];
+            int flags = table.flags[i];
+
+            // Pending pitch changes are sent along with the other changes, and (re)starting sounds already use the new pitch
+            boolean pitchDirty = (flags & SoundInstanceTable.FLAG_PITCH_DIRTY) != 0;
+            if(pitchDirty) table.setFlag(i, SoundInstanceTable.FLAG_PITCH_DIRTY, false);
+
+            // If sound is waiting to be played, play it unless it's already inaudible
+            if((flags & SoundInstanceTable.FLAG_PLAY_ME) != 0) {
+                table.setFlag(i, SoundInstanceTable.FLAG_PLAY_ME, false);
+                if(virtualVoices && finalVolume < virtualThreshold && canBecomeVirtual(i, canSeek)) {
+                    setVirtual(i, true);
+                } else {
+                    startSound(soundInstance, finalVolume, pan);
+                    table.appliedVolume[i] = finalVolume;
+                    table.appliedPan[i] = pan;
+                }
+            }
+            // If sound is virtual, play it again once it becomes audible
+            else if((flags & SoundInstanceTable.FLAG_VIRTUAL) != 0) {
+                if((flags & SoundInstanceTable.FLAG_DYING) != 0 || (virtualVoices && finalVolume <= realThreshold)) continue;
+                boolean looping = (flags & SoundInstanceTable.FLAG_LOOPING) != 0;
+                if(getNativeVoiceCount() >= voiceBudget) continue;
+                setVirtual(i, false);
+                startSound(soundInstance, finalVolume, pan);
+                if(!looping && canSeek) backend.seekSound(soundInstance.sound, soundInstance.internalId, table.time[i]);
+                table.appliedVolume[i] = finalVolume;
+                table.appliedPan[i] = pan;
+            }
+            // If sound became inaudible, release its native source
+            else if(virtualVoices && finalVolume < virtualThreshold && (flags & SoundInstanceTable.FLAG_DYING) == 0 && canBecomeVirtual(i, canSeek)) {
+                soundInstance.sound.stop(soundInstance.internalId);
+                soundInstance.internalId = -1;
+                metrics.recordNativeCall(NativeCall.STOP);
+                setVirtual(i, true);
+            }
+            // Otherwise just apply changes, in case they're audible
+            else {
+                if(pitchDirty) {
+                    soundInstance.sound.setPitch(soundInstance.internalId, soundInstance.pitch);
+                    metrics.recordNativeCall(NativeCall.SET_PITCH);
                 }
-                // Otherwise just apply changes
-                else {
+                if(Math.abs(finalVolume - table.appliedVolume[i]) > volumeThreshold || Math.abs(pan - table.appliedPan[i]) > panThreshold) {
                     soundInstance.sound.setPan(soundInstance.internalId, pan, finalVolume);
+                    table.appliedVolume[i] = finalVolume;
+                    table.appliedPan[i] = pan;
+                    metrics.recordNativeCall(NativeCall.SET_PAN);
+                } else {
+                    metrics.recordNativeUpdateSkipped();
                 }
+            }
+        }
+    }
+
+    /**
+     * Returns whether or not the sound in the given row can become virtual. Sounds that play once can only resume where they left off on
+     * backends that can seek, and need a known duration, otherwise they could stay virtual forever. Sounds that became virtual anyway, e.g.
+     * before switching to a backend that can't seek, restart from the beginning.
+     */
+    private boolean canBecomeVirtual(int index, boolean canSeek) {
+        return table.hasFlag(index, SoundInstanceTable.FLAG_LOOPING) || (canSeek && table.duration[index] > 0);
+    }
+
+    /**
+     * Plays the {@link Sound} of the given instance, either directly or through {@link Boom}, and stores its internal ID.
+     */
+    private void startSound(SoundInstance soundInstance, float volume, float pan) {
+        ParrotSoundType soundType = soundInstance.getType();
+        ParrotSoundCategory category = soundType.getCategory();
+        boolean normal = soundInstance.playbackMode == PlaybackMode.NORMAL;
+        long internalId;
+        float pitch = soundInstance.pitch;
+
+        // Apply random pitch variation to sound effect
+        float pitchVariation = soundType.getPitchVariation() * MathUtils.randomTriangular(-1, 1, 0);
+        pitch += pitchVariation;
+
+        // Apply category-based pitch factors
+        if(category != null) {
+            float pitchCategoryFactor = pitchFactorsByCategory.get(category, 1);
+            pitch *= pitchCategoryFactor;
+        }
 
-                // Store volume and pan to instance
-                soundInstance.currentVolume = soundVolume;
-                soundInstance.currentPan = pan;
+        if(boom == null) {
+            // Play sound normally
+            if(normal) {
+                internalId = soundInstance.sound.play(volume, pitch, pan);
+            } else {
+                internalId = soundInstance.sound.loop(volume, pitch, pan);
+            }
+        } else {
+            // Play sound through boom
+            int boomChannel = soundInstance.boomChannel;
+            if(normal) {
+                internalId = boom.play(soundInstance.sound, boomChannel, volume, pitch, pan);
+            } else {
+                internalId = boom.loop(soundInstance.sound, boomChannel, volume, pitch, pan);
             }
         }
+        soundInstance.internalId = internalId;
+        metrics.recordNativeCall(normal ? NativeCall.PLAY : NativeCall.LOOP);
+
+        // Sounds that failed to play are killed on the next update, and no longer count as voices
+        if(internalId == -1) releaseVoice(soundInstance);
     }
 
     /**
-     * Iterates through all positions set to continuous sounds and solidify them to whichever position is closer to the camera center.
+     * Iterates through all positions set to continuous sounds and solidify them to whichever position is closer to the nearest listener.
+     * Positions are stored by {@link #setSoundCoordinates(SoundInstance, float, float)} in a buffer shared by all sounds and reused every
+     * update, so no individual position needs to be allocated.
      */
-    private void solidifyContinuousPositions(float centerX, float centerY, float delta) {
-        if(continuousPositionsById.size > 0) {
-            for(Entry<Array<Vector2>> entry : continuousPositionsById) {
-                // Get sound
-                long id = entry.key;
-                SoundInstance soundInstance = soundsById.get(id, null);
-                if(soundInstance != null) {
-
-                    // Get positions
-                    Array<Vector2> positions = entry.value;
-                    int positionAmount = positions.size;
-                    if(positionAmount > 0) {
-                        // Measuring variables
-                        float minDiffX = Float.NaN;
-                        float minDiffY = Float.NaN;
-                        float avgX = 0;
-                        float avgY = 0;
-
-                        // Iterate through registered positions
-                        for(int i = 0; i < positionAmount; i++) {
-                            Vector2 position = positions.get(i);
-
-                            // Add to average count
-                            avgX += position.x;
-                            avgY += position.y;
-
-                            // Calculate difference to camera center
-                            float diffX = position.x - centerX;
-                            float diffY = position.y - centerY;
-                            if(Float.isNaN(minDiffX) || Math.abs(diffX) < Math.abs(minDiffX)) minDiffX = diffX;
-                            if(Float.isNaN(minDiffY) || Math.abs(diffY) < Math.abs(minDiffY)) minDiffY = diffY;
-                        }
-
-                        // Fix average
-                        avgX /= positionAmount;
-                        avgY /= positionAmount;
-
-                        // Check if average is closer to the camera than any other single position
-                        float avgDiffX = avgX - centerX;
-                        float avgDiffY = avgY - centerY;
-                        if(Math.abs(avgDiffX) < Math.abs(minDiffX)) minDiffX = avgDiffX;
-                        if(Math.abs(avgDiffY) < Math.abs(minDiffY)) minDiffY = avgDiffY;
-
-                        // Calculate new position
-                        float oldX = soundInstance.positionX;
-                        float oldY = soundInstance.positionY;
-                        float newX = centerX + minDiffX;
-                        float newY = centerY + minDiffY;
-
-                        // Limit sound speed
-                        tmpVec.set(newX, newY).sub(oldX, oldY).limit(settings.soundContinuousSpeed * delta);
-                        newX = oldX + tmpVec.x;
-                        newY = oldY + tmpVec.y;
-
-                        // Apply final position to sound
-                        float finalX = (oldX + newX) / 2f;
-                        float finalY = (oldY + newY) / 2f;
-                        soundInstance.positionX = finalX;
-                        soundInstance.positionY = finalY;
+    private void solidifyContinuousPositions(float delta) {
+        SoundInstanceTable table = this.table;
+        int size = table.size();
+        int[] continuousCount = table.continuousCount;
+        float[] positions = continuousPositions.items;
+        int[] links = continuousLinks.items;
+        for(int i = 0; i < size; i++) {
+            int positionAmount = continuousCount[i];
+            if(positionAmount > 0) {
+                int head = table.continuousHead[i];
+
+                // Calculate average
+                float avgX = 0;
+                float avgY = 0;
+                for(int entry = head; entry != -1; entry = links[entry]) {
+                    avgX += positions[entry * 2];
+                    avgY += positions[entry * 2 + 1];
+                }
+                avgX /= positionAmount;
+                avgY /= positionAmount;
+
+                // Find the closest registered position to each listener in each axis, and keep the closest one overall
+                float newX = 0;
+                float newY = 0;
+                float newDst2 = Float.POSITIVE_INFINITY;
+                for(int l = 0; l < listeners.size; l++) {
+                    Vector2 listener = listeners.get(l);
+                    float minDiffX = avgX - listener.x;
+                    float minDiffY = avgY - listener.y;
+                    for(int entry = head; entry != -1; entry = links[entry]) {
+                        float diffX = positions[entry * 2] - listener.x;
+                        float diffY = positions[entry * 2 + 1] - listener.y;
+                        if(Math.abs(diffX) <= Math.abs(minDiffX)) minDiffX = diffX;
+                        if(Math.abs(diffY) <= Math.abs(minDiffY)) minDiffY = diffY;
+                    }
+                    float dst2 = minDiffX * minDiffX + minDiffY * minDiffY;
+                    if(dst2 < newDst2) {
+                        newX = listener.x + minDiffX;
+                        newY = listener.y + minDiffY;
+                        newDst2 = dst2;
                     }
-
-                    // Clear positions array
-                    positions.clear();
                 }
+
+                // Limit sound speed
+                float oldX = table.positionX[i];
+                float oldY = table.positionY[i];
+                tmpVec.set(newX, newY).sub(oldX, oldY).limit(settings.soundContinuousSpeed * delta);
+                newX = oldX + tmpVec.x;
+                newY = oldY + tmpVec.y;
+
+                // Apply final position to sound
+                table.positionX[i] = (oldX + newX) / 2f;
+                table.positionY[i] = (oldY + newY) / 2f;
+                grid.update(table.instances.get(i));
+
+                // Clear accumulated positions
+                continuousCount[i] = 0;
+                table.continuousHead[i] = -1;
             }
         }
+        continuousPositions.clear();
+        continuousLinks.clear();
     }
 
     @Override
     public long playSound(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel) {
+        long id = createSound(type, soundIndex, x, y, volumeFactor, pitch, mode, boomChannel);
+        if(id != -1) limitVoices(type);
+        return id;
+    }
+
+    @Override
+    public int playSounds(SoundBatch batch) {
+        if(batch == null) return 0;
+
+        // Register every sound first
+        int played = 0;
+        Array<ParrotSoundType> batchTypes = this.batchTypes;
+        for(int i = 0; i < batch.size(); i++) {
+            ParrotSoundType type = batch.getType(i);
+            long id = createSound(
+                type, batch.getSoundIndex(i), batch.getX(i), batch.getY(i), batch.getVolumeFactor(i), batch.getPitch(i), batch.getMode(i),
+                batch.getBoomChannel(i)
+            );
+            batch.setId(i, id);
+            if(id == -1) continue;
+            played++;
+            if(!batchTypes.contains(type, true)) batchTypes.add(type);
+        }
+
+        // Then limit voices once per type
+        for(int i = 0; i < batchTypes.size; i++) {
+            limitVoices(batchTypes.get(i));
+        }
+        batchTypes.clear();
+        return played;
+    }
+
+    @Override
+    public long queuePlaySound(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel) {
+        if(type == null) return -1;
+        long id = commandQueue.offerPlay(type, soundIndex, x, y, volumeFactor, pitch, mode, boomChannel);
+        if(id == -1) metrics.recordPlayRejected(PlayRejection.QUEUE_FULL);
+        return id;
+    }
+
+    @Override
+    public boolean queueStopSound(long id) {
+        return commandQueue.offer(SoundCommandQueue.STOP, id);
+    }
+
+    @Override
+    public boolean queueKillSound(long id) {
+        return commandQueue.offer(SoundCommandQueue.KILL, id);
+    }
+
+    @Override
+    public boolean queueTouchSound(long id) {
+        return commandQueue.offer(SoundCommandQueue.TOUCH, id);
+    }
+
+    @Override
+    public boolean queueSoundCoordinates(long id, float x, float y) {
+        return commandQueue.offer(SoundCommandQueue.SET_COORDINATES, id, x, y);
+    }
+
+    /**
+     * Carries out the commands queued from other threads, in the order they were queued. Plays are registered first and voices are limited
+     * once at the end, same as {@link #playSounds(SoundBatch)}.
+     */
+    private void drainCommands() {
+        SoundCommandQueue.Command command = this.command;
+        Array<ParrotSoundType> batchTypes = this.batchTypes;
+        int drained = 0;
+        int capacity = commandQueue.capacity();
+        while(drained++ < capacity && commandQueue.poll(command)) {
+            switch(command.kind) {
+                case SoundCommandQueue.PLAY:
+                    long id = createSound(
+                        command.type, command.soundIndex, command.x, command.y, command.volumeFactor, command.pitch, command.mode,
+                        command.boomChannel
+                    );
+                    if(id == -1) break;
+                    addTicket(command.id, handles.get(id));
+                    if(!batchTypes.contains(command.type, true)) batchTypes.add(command.type);
+                    break;
+                case SoundCommandQueue.STOP:
+                    stopSound(getSound(command.id));
+                    break;
+                case SoundCommandQueue.KILL:
+                    killSound(getSound(command.id));
+                    break;
+                case SoundCommandQueue.TOUCH:
+                    touchSound(getSound(command.id));
+                    break;
+                case SoundCommandQueue.SET_COORDINATES:
+                    setSoundCoordinates(getSound(command.id), command.x, command.y);
+                    break;
+            }
+            command.type = null;
+        }
+
+        // Limit voices once per type
+        for(int i = 0; i < batchTypes.size; i++) {
+            limitVoices(batchTypes.get(i));
+        }
+        batchTypes.clear();
+    }
+
+    /**
+     * Makes the given ticket resolve to the given sound until it's unregistered. Merged plays can leave several tickets on the same sound.
+     */
+    private void addTicket(long ticket, SoundInstance soundInstance) {
+        if(soundInstance == null) return;
+        if(soundInstance.tickets == null) soundInstance.tickets = new LongArray(false, 2);
+        soundInstance.tickets.add(ticket);
+        soundsByTicket.put(ticket, soundInstance);
+    }
+
+    /**
+     * Creates and registers a {@link SoundInstance} without limiting voices. See
+     * {@link #playSound(ParrotSoundType, int, float, float, float, float, PlaybackMode, int)}.
+     *
+     * @return the ID of the created instance, or -1 if no sound was created.
+     */
+    private long createSound(ParrotSoundType type, int soundIndex, float x, float y, float volumeFactor, float pitch, PlaybackMode mode, int boomChannel) {
+        metrics.recordPlayRequested();
+
         // Make sure PlaybackMode is valid
         if(mode == null) mode = type.getPlaybackMode();
         if(mode == null) mode = PlaybackMode.NORMAL;
@@ -309,22 +728,30 @@ public class SoundPlayerImpl implements SoundPlayer {
 
         // If sound is continuous, see if there's an active one
         if(mode == PlaybackMode.CONTINUOUS) {
-            for(SoundInstance soundInstance : soundInstances) {
-                if(soundInstance.getType() == type) {
-                    if(soundInstance.playbackMode == mode) {
-                        if(soundInstance.isActive()) {
-                            soundInstance.lastTouch = System.currentTimeMillis();
-                            // Sound is active, return shared ID
-                            return soundInstance.id;
-                        }
-                    }
-                }
+            SoundInstance soundInstance = continuousSoundsByType.get(type);
+            if(soundInstance != null && soundInstance.isActive()) {
+                soundInstance.touch();
+                metrics.recordPlayMerged();
+                // Sound is active, return shared ID
+                return soundInstance.id;
+            }
+        }
+
+        // If sound can be coalesced, see if there's a recent one nearby
+        if(mode == PlaybackMode.NORMAL && type.getCoalesceWindow() > 0) {
+            SoundInstance soundInstance = findCoalescableSound(type, soundIndex, x, y, boomChannel);
+            if(soundInstance != null) {
+                coalesceSound(soundInstance, x, y, volumeFactor);
+                metrics.recordPlayMerged();
+                // Sound was merged, return shared ID
+                return soundInstance.id;
             }
         }
 
         // Ensure we have a sound to play
         Array<Sound> sounds = type.getSounds();
         if(sounds == null || sounds.isEmpty()) {
+            metrics.recordPlayRejected(PlayRejection.NO_SOUND);
             return -1;
         }
 
@@ -340,15 +767,28 @@ public class SoundPlayerImpl implements SoundPlayer {
 
         // Ensure sound is valid
         if(sound == null) {
+            metrics.recordPlayRejected(PlayRejection.NO_SOUND);
             return -1;
         }
 
         // Get sound duration
-        float soundDuration = ParrotUtils.getSoundDuration(sound, settings.soundDurationOnUnsupportedPlatforms);
+        float soundDuration = soundDurations.getDuration(sound, parrot.getBackend(), settings.soundDurationOnUnsupportedPlatforms);
 
         // Ignore distant tiny sounds
         boolean isSpatial = type.getCategory().isSpatial();
         if(ignoreDistantTinySound(x, y, soundDuration, isSpatial, mode)) {
+            metrics.recordPlayRejected(PlayRejection.DISTANT_TINY_SOUND);
+            return -1;
+        }
+
+        // Estimate the initial score, so new sounds compete fairly for voices before their first update
+        float estimatedVolume = loudnessCurve.getPerceivedVolume(type.getVolume()) * volumeFactor;
+        if(isSpatial) estimatedVolume *= distanceRolloff.getGain(getNearestListenerDistance2(x, y));
+        float estimatedScore = calculateScore(estimatedVolume, 0, soundDuration, mode != PlaybackMode.NORMAL);
+
+        // Make sure there's a native source left for the sound, refusing it otherwise
+        if(getNativeVoiceCount() >= getVoiceBudget() && !stealVoice(type, estimatedScore)) {
+            metrics.recordPlayRejected(PlayRejection.VOICE_BUDGET);
             return -1;
         }
 
@@ -356,28 +796,89 @@ public class SoundPlayerImpl implements SoundPlayer {
         pitch = pitch * type.getPitch();
 
         // Create SoundInstance
-        long id = getNextId();
         SoundInstance soundInstance = Pools.obtain(SoundInstance.class);
+        long id = handles.allocate(soundInstance);
         soundInstance.sound = sound;
         soundInstance.type = type;
         soundInstance.id = id;
-        soundInstance.duration = soundDuration;
-        soundInstance.positionX = x;
-        soundInstance.positionY = y;
-        soundInstance.volumeFactor = volumeFactor;
+        soundInstance.sequence = nextSequence++;
+        soundInstance.volumeVariation = type.getVolumeVariation() * MathUtils.randomTriangular(-1, 1, 0);
         soundInstance.pitch = pitch;
         soundInstance.playbackMode = mode;
-        soundInstance.lastTouch = System.currentTimeMillis();
-        soundInstance.priority = type.getPriority();
         soundInstance.boomChannel = boomChannel;
 
+        // Fill in the per-frame state of the instance, caching type attributes so updates don't need to query them
+        int index = table.add(soundInstance);
+        table.positionX[index] = x;
+        table.positionY[index] = y;
+        table.duration[index] = soundDuration;
+        table.volumeFactor[index] = volumeFactor;
+        table.rawVolume[index] = type.getVolume() + soundInstance.volumeVariation;
+        table.continuityFactor[index] = type.getContinuityFactor();
+        table.lastTouch[index] = table.now;
+        table.priority[index] = type.getPriority();
+        table.setFlag(index, SoundInstanceTable.FLAG_SPATIAL, isSpatial);
+        table.setFlag(index, SoundInstanceTable.FLAG_CONTINUOUS, mode == PlaybackMode.CONTINUOUS);
+        table.setFlag(index, SoundInstanceTable.FLAG_LOOPING, mode != PlaybackMode.NORMAL);
+        if(isSpatial) grid.add(soundInstance);
+
+        table.score[index] = estimatedScore;
+        soundInstance.coalescedCount = 1;
+        soundInstance.coalescedSumX = x;
+        soundInstance.coalescedSumY = y;
+        soundInstance.coalescedPower = volumeFactor * volumeFactor;
+
         // Register SoundInstance
         registerSound(soundInstance);
+        metrics.recordPlayAccepted();
 
         // Return external ID
         return id;
     }
 
+    /**
+     * Returns the most recent sound of the given type that a new play at the given coordinates could be merged into, if any. Only sounds
+     * playing through the same {@link Boom} channel, and the handpicked sound index if there's one, can be merged into. See
+     * {@link ParrotSoundType#getCoalesceWindow()}.
+     */
+    private SoundInstance findCoalescableSound(ParrotSoundType type, int soundIndex, float x, float y, int boomChannel) {
+        SoundBucket bucket = soundsByType.get(type);
+        if(bucket == null) return null;
+        Sound sound = soundIndex >= 0 ? type.getSounds().get(soundIndex) : null;
+        float window = type.getCoalesceWindow();
+        float radius = type.getCoalesceRadius();
+        float radius2 = radius * radius;
+        SoundInstance coalescable = null;
+        for(int i = 0; i < bucket.size(); i++) {
+            SoundInstance soundInstance = bucket.get(i);
+            int index = soundInstance.index;
+            if(soundInstance.playbackMode != PlaybackMode.NORMAL || table.hasFlag(index, SoundInstanceTable.FLAG_DYING)) continue;
+            if(table.time[index] > window) continue;
+            if(soundInstance.boomChannel != boomChannel || (sound != null && soundInstance.sound != sound)) continue;
+            float dstX = soundInstance.coalescedSumX / soundInstance.coalescedCount - x;
+            float dstY = soundInstance.coalescedSumY / soundInstance.coalescedCount - y;
+            if(dstX * dstX + dstY * dstY > radius2) continue;
+            if(coalescable == null || soundInstance.sequence > coalescable.sequence) coalescable = soundInstance;
+        }
+        return coalescable;
+    }
+
+    /**
+     * Merges a new play into the given sound, moving it to the centroid of all merged plays and raising its volume by their combined power.
+     */
+    private void coalesceSound(SoundInstance soundInstance, float x, float y, float volumeFactor) {
+        int index = soundInstance.index;
+        int count = ++soundInstance.coalescedCount;
+        soundInstance.coalescedSumX += x;
+        soundInstance.coalescedSumY += y;
+        soundInstance.coalescedPower += volumeFactor * volumeFactor;
+        table.positionX[index] = soundInstance.coalescedSumX / count;
+        table.positionY[index] = soundInstance.coalescedSumY / count;
+        float coalescedVolume = Math.min((float) Math.sqrt(soundInstance.coalescedPower), soundInstance.getType().getCoalesceMaxVolumeFactor());
+        table.volumeFactor[index] = Math.max(table.volumeFactor[index], coalescedVolume);
+        grid.update(soundInstance);
+    }
+
     /**
      * Checks if the given sound should be ignored according to the "Ignore Distant Tiny Sounds" feature.
      *
@@ -403,7 +904,7 @@ public class SoundPlayerImpl implements SoundPlayer {
         if(distanceThreshold < 0) {
             distanceThreshold = settings.distanceRolloffMaxDistance;
         }
-        float dst2 = listenerPosition.dst2(soundX, soundY);
+        float dst2 = getNearestListenerDistance2(soundX, soundY);
         boolean isDistant = dst2 >= (distanceThreshold * distanceThreshold);
         if(!isDistant) return false;
 
@@ -411,15 +912,157 @@ public class SoundPlayerImpl implements SoundPlayer {
         return true;
     }
 
+    /**
+     * Returns the maximum amount of sounds allowed to hold a native source at once. See {@link ParrotSettings#soundVoiceBudget}.
+     */
+    public int getVoiceBudget() {
+        int budget = settings.soundVoiceBudget;
+        return budget < 0 ? parrot.getBackend().getMaxNativeSources() : budget;
+    }
+
+    /**
+     * Returns the amount of sounds currently holding or about to hold a native source, i.e. all sounds that aren't virtual.
+     */
+    public int getNativeVoiceCount() {
+        return table.size() - virtualCount;
+    }
+
+    /**
+     * Frees a native source for a new sound of the given type, by killing a sound that is fading out, or else the least audible sound among
+     * categories using more than their reserved voices. Unless the new sound is within its category's reservation, it can only steal from
+     * sounds less important than itself.
+     *
+     * @return Whether or not a source was freed.
+     */
+    private boolean stealVoice(ParrotSoundType type, float score) {
+        // Sounds fading out are stolen first, starting with the one closest to its end
+        SoundInstance victim = dyingHead;
+
+        // Otherwise steal from categories using more than their reservation
+        if(victim == null) {
+            for(VoiceHeap nativeVoices : nativeVoicesByCategory.values()) {
+                SoundInstance soundInstance = nativeVoices.peek();
+                if(soundInstance == null || nativeVoices.size() <= soundInstance.getType().getCategory().getReservedVoices()) continue;
+                if(victim == null || VoiceHeap.compare(soundInstance, victim) < 0) victim = soundInstance;
+            }
+            if(victim == null) return false;
+
+            // Sounds beyond their reservation can only steal from less important sounds
+            ParrotSoundCategory category = type.getCategory();
+            VoiceHeap nativeVoices = category == null ? null : nativeVoicesByCategory.get(category);
+            int nativeVoiceCount = nativeVoices == null ? 0 : nativeVoices.size();
+            boolean reserved = category != null && nativeVoiceCount < category.getReservedVoices();
+            if(!reserved) {
+                int priorityDifference = Integer.compare(victim.getPriority(), type.getPriority());
+                if(priorityDifference > 0 || (priorityDifference == 0 && victim.getScore() >= score)) return false;
+            }
+        }
+
+        killSound(victim);
+        metrics.recordVoiceStolen();
+        return true;
+    }
+
+    /**
+     * Sets whether or not the sound in the given row is virtual, keeping track of the amount of virtual sounds and of the voices holding a
+     * native source in each category.
+     */
+    private void setVirtual(int index, boolean virtual) {
+        if(table.hasFlag(index, SoundInstanceTable.FLAG_VIRTUAL) == virtual) return;
+        table.setFlag(index, SoundInstanceTable.FLAG_VIRTUAL, virtual);
+        virtualCount += virtual ? 1 : -1;
+
+        // Dying sounds no longer count as voices either way
+        if(table.hasFlag(index, SoundInstanceTable.FLAG_DYING)) return;
+        SoundInstance soundInstance = table.instances.get(index);
+        if(virtual) {
+            if(soundInstance.nativeVoices != null) soundInstance.nativeVoices.remove(soundInstance);
+        } else {
+            addNativeVoice(soundInstance);
+        }
+    }
+
+    /**
+     * Adds the given sound to the heap of voices holding a native source in its category, if it has one.
+     */
+    private void addNativeVoice(SoundInstance soundInstance) {
+        ParrotSoundCategory category = soundInstance.getType().getCategory();
+        if(category == null) return;
+        VoiceHeap nativeVoices = nativeVoicesByCategory.get(category);
+        if(nativeVoices == null) {
+            nativeVoices = new VoiceHeap(VoiceHeap.NATIVE);
+            nativeVoicesByCategory.put(category, nativeVoices);
+        }
+        nativeVoices.add(soundInstance);
+    }
+
+    /**
+     * Appends the given sound to the list of sounds fading out while holding a native source. Sounds are stopped in order, so the head of
+     * the list is always the one closest to its end.
+     */
+    private void addDyingSound(SoundInstance soundInstance) {
+        soundInstance.dyingPrev = dyingTail;
+        soundInstance.dyingNext = null;
+        if(dyingTail != null) {
+            dyingTail.dyingNext = soundInstance;
+        } else {
+            dyingHead = soundInstance;
+        }
+        dyingTail = soundInstance;
+    }
+
+    /**
+     * Removes the given sound from the list of sounds fading out, if present.
+     */
+    private void removeDyingSound(SoundInstance soundInstance) {
+        if(soundInstance.dyingPrev == null && dyingHead != soundInstance) return;
+        if(soundInstance.dyingPrev != null) {
+            soundInstance.dyingPrev.dyingNext = soundInstance.dyingNext;
+        } else {
+            dyingHead = soundInstance.dyingNext;
+        }
+        if(soundInstance.dyingNext != null) {
+            soundInstance.dyingNext.dyingPrev = soundInstance.dyingPrev;
+        } else {
+            dyingTail = soundInstance.dyingPrev;
+        }
+        soundInstance.dyingPrev = null;
+        soundInstance.dyingNext = null;
+    }
+
+    /**
+     * Returns the squared distance between the given coordinates and the nearest listener.
+     */
+    private float getNearestListenerDistance2(float x, float y) {
+        float dst2 = listenerPosition.dst2(x, y);
+        for(int i = 1; i < listeners.size; i++) {
+            dst2 = Math.min(dst2, listeners.get(i).dst2(x, y));
+        }
+        return dst2;
+    }
+
     @Override
     public SoundInstance getSound(long internalId) {
         if(internalId == (long) -1) return null;
-        return soundsById.get(internalId, null);
+
+        // Resolve IDs reserved by queued plays
+        if(SoundCommandQueue.isTicket(internalId)) return soundsByTicket.get(internalId);
+        return handles.get(internalId);
     }
 
     @Override
     public Array<SoundInstance> getAllSounds() {
-        return soundInstances;
+        return table.instances;
+    }
+
+    @Override
+    public int getSoundsInRadius(float x, float y, float radius, Array<SoundInstance> out) {
+        return grid.findInRadius(x, y, radius, out);
+    }
+
+    @Override
+    public int getSoundsInRegion(float minX, float minY, float maxX, float maxY, Array<SoundInstance> out) {
+        return grid.findInRegion(minX, minY, maxX, maxY, out);
     }
 
     @Override
@@ -427,7 +1070,7 @@ public class SoundPlayerImpl implements SoundPlayer {
         if(soundInstance == null) return false;
 
         // Touch instance
-        if(soundInstance.isActive()) soundInstance.lastTouch = System.currentTimeMillis();
+        if(soundInstance.isActive()) soundInstance.touch();
 
         // Return flag indicating if instance is valid
         return soundInstance.isValid();
@@ -436,25 +1079,23 @@ public class SoundPlayerImpl implements SoundPlayer {
     @Override
     public void setSoundCoordinates(SoundInstance soundInstance, float x, float y) {
         if(soundInstance != null) {
-            // Ignore dying sounds
-            if(soundInstance.isDying) return;
+            // Ignore dying and unregistered sounds
+            if(soundInstance.table != table || soundInstance.isDying()) return;
 
-            // Check if sound is continuous, and if so add an accumulated position
+            // Check if sound is continuous, and if so add an accumulated position, chained to the previous ones of the same sound
             if(soundInstance.playbackMode == PlaybackMode.CONTINUOUS) {
-                Array<Vector2> coordsArray = continuousPositionsById.get(soundInstance.id, null);
-                if(coordsArray == null) {
-                    coordsArray = new Array<>();
-                    continuousPositionsById.put(soundInstance.id, coordsArray);
-                }
-                Vector2 coords = new Vector2();
-                coords.set(x, y);
-                coordsArray.add(coords);
+                int index = soundInstance.index;
+                continuousPositions.add(x, y);
+                continuousLinks.add(table.continuousHead[index]);
+                table.continuousHead[index] = continuousLinks.size - 1;
+                table.continuousCount[index]++;
             }
 
             // Otherwise set position directly
             else {
-                soundInstance.positionX = x;
-                soundInstance.positionY = y;
+                table.positionX[soundInstance.index] = x;
+                table.positionY[soundInstance.index] = y;
+                grid.update(soundInstance);
             }
         }
     }
@@ -462,31 +1103,31 @@ public class SoundPlayerImpl implements SoundPlayer {
     @Override
     public void stopSound(ParrotSoundType type, boolean ignorePersistent) {
         if(type == null) return;
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
+        SoundBucket bucket = soundsByType.get(type);
+        if(bucket == null) return;
+        for(int i = 0; i < bucket.size(); i++) {
+            SoundInstance soundInstance = bucket.get(i);
             if(ignorePersistent && soundInstance.isPersistent()) continue;
-            if(soundInstance.getType() == type) {
-                stopSound(soundInstance);
-            }
+            stopSound(soundInstance);
         }
     }
 
     @Override
     public void stopSound(ParrotSoundCategory category, boolean ignorePersistent) {
         if(category == null) return;
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
+        SoundBucket bucket = soundsByCategory.get(category);
+        if(bucket == null) return;
+        for(int i = 0; i < bucket.size(); i++) {
+            SoundInstance soundInstance = bucket.get(i);
             if(ignorePersistent && soundInstance.isPersistent()) continue;
-            if(soundInstance.getType().getCategory() == category) {
-                stopSound(soundInstance);
-            }
+            stopSound(soundInstance);
         }
     }
 
     @Override
     public void stopAllSounds(boolean ignorePersistent) {
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
+        for(int i = 0; i < table.size(); i++) {
+            SoundInstance soundInstance = table.instances.get(i);
             if(ignorePersistent && soundInstance.isPersistent()) continue;
             stopSound(soundInstance);
         }
@@ -494,10 +1135,15 @@ public class SoundPlayerImpl implements SoundPlayer {
 
     @Override
     public void stopSound(SoundInstance soundInstance) {
-        if(soundInstance == null || soundInstance.isDying) return;
-        soundInstance.lastTouch = System.currentTimeMillis();
-        soundInstance.isDying = true;
-        soundInstance.playMe = false;
+        if(soundInstance == null || soundInstance.table != table || soundInstance.isDying()) return;
+        int index = soundInstance.index;
+        table.lastTouch[index] = table.now;
+        table.setFlag(index, SoundInstanceTable.FLAG_DYING, true);
+        table.setFlag(index, SoundInstanceTable.FLAG_PLAY_ME, false);
+
+        // Dying sounds no longer count as voices, but the ones still holding a native source can have it stolen
+        releaseVoice(soundInstance);
+        if(!table.hasFlag(index, SoundInstanceTable.FLAG_VIRTUAL)) addDyingSound(soundInstance);
     }
 
     @Override
@@ -507,58 +1153,122 @@ public class SoundPlayerImpl implements SoundPlayer {
 
     @Override
     public void setSoundCategoryPitchFactor(ParrotSoundCategory category, float pitchFactor) {
-        // Update factor
+        // Update factor, remembering the one applied to ongoing sounds until the next update
         float oldPitchFactor = pitchFactorsByCategory.get(category, 1);
         pitchFactorsByCategory.put(category, pitchFactor);
-        float pitchDifference = pitchFactor - oldPitchFactor;
+        if(!dirtyPitchCategories.contains(category, true)) {
+            dirtyPitchCategories.add(category);
+            appliedPitchFactorsByCategory.put(category, oldPitchFactor);
+            dirtyPitchSequences.add(nextSequence);
+        }
+    }
+
+    /**
+     * Updates the audibility score of all live voices, re-sorting them in their voice heaps only when their score changes noticeably.
+     */
+    private void updateVoiceScores() {
+        SoundInstanceTable table = this.table;
+        int size = table.size();
+        float[] score = table.score;
+        int[] flags = table.flags;
+        for(int i = 0; i < size; i++) {
+            // Dying sounds no longer compete for voices
+            if((flags[i] & SoundInstanceTable.FLAG_DYING) != 0) continue;
+
+            // Fade-ins are transient, so they don't lower the score
+            float fadeIn = table.fadeIn[i];
+            if(fadeIn <= 0) continue;
+
+            // Calculate score and re-sort voice if it changed enough
+            float oldScore = score[i];
+            float newScore = calculateScore(i, table.currentVolume[i] / fadeIn);
+            if(Math.abs(newScore - oldScore) > SCORE_TOLERANCE * Math.max(oldScore, newScore)) {
+                score[i] = newScore;
+                SoundInstance soundInstance = table.instances.get(i);
+                if(soundInstance.typeVoices != null) soundInstance.typeVoices.update(soundInstance);
+                if(soundInstance.categoryVoices != null) soundInstance.categoryVoices.update(soundInstance);
+                if(soundInstance.nativeVoices != null) soundInstance.nativeVoices.update(soundInstance);
+            }
+        }
+    }
 
-        // Apply difference to ongoing sounds
-        if(!MathUtils.isZero(pitchDifference)) {
-            for(int i = 0; i < soundInstances.size; i++) {
-                SoundInstance soundInstance = soundInstances.get(i);
-                if(soundInstance.getType().getCategory() == category) {
+    /**
+     * Calculates the audibility score of the sound in the given row, based on its volume, remaining duration and age.
+     */
+    private float calculateScore(int index, float volume) {
+        return calculateScore(volume, table.time[index], table.duration[index], table.hasFlag(index, SoundInstanceTable.FLAG_LOOPING));
+    }
+
+    /**
+     * Calculates the audibility score of a sound with the given attributes.
+     */
+    private float calculateScore(float volume, float time, float duration, boolean looping) {
+        // Sounds about to end are worth less
+        float remainingFactor = 1.0f;
+        float remainingTime = settings.soundVoiceStealingRemainingTime;
+        if(!looping && duration > 0 && remainingTime > 0) {
+            remainingFactor = MathUtils.clamp((duration - time) / remainingTime, 0.0f, 1.0f);
+        }
+
+        // Older sounds are worth less
+        float ageFactor = 1.0f / (1.0f + time * Math.max(settings.soundVoiceStealingAgePenalty, 0));
+        return volume * remainingFactor * ageFactor;
+    }
+
+    /**
+     * Applies the pitch factor changes made since the last update to the ongoing sounds of each affected category. Their rows are flagged,
+     * so the new pitch is sent to the backend along with their volume and pan. Sounds created after the change was made already play with
+     * the new factor, so they're left untouched.
+     */
+    private void updateCategoryPitches() {
+        for(int c = 0; c < dirtyPitchCategories.size; c++) {
+            ParrotSoundCategory category = dirtyPitchCategories.get(c);
+            float pitchDifference = pitchFactorsByCategory.get(category, 1) - appliedPitchFactorsByCategory.get(category, 1);
+            long dirtySequence = dirtyPitchSequences.get(c);
+
+            // Apply difference to ongoing sounds
+            SoundBucket bucket = soundsByCategory.get(category);
+            if(bucket != null && !MathUtils.isZero(pitchDifference)) {
+                for(int i = 0; i < bucket.size(); i++) {
+                    SoundInstance soundInstance = bucket.get(i);
+                    if(soundInstance.sequence >= dirtySequence) continue;
                     soundInstance.pitch += pitchDifference;
-                    Sound sound = soundInstance.sound;
-                    if(sound != null) {
-                        sound.setPitch(soundInstance.internalId, soundInstance.pitch);
-                    }
+                    table.setFlag(soundInstance.index, SoundInstanceTable.FLAG_PITCH_DIRTY, true);
                 }
             }
         }
+        dirtyPitchCategories.clear();
+        dirtyPitchSequences.clear();
+        appliedPitchFactorsByCategory.clear();
     }
 
     @Override
-
     public void killSound(ParrotSoundType type) {
         if(type == null) return;
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
-            if(soundInstance.getType() == type) {
-                killSound(soundInstance);
-                i--;
-            }
+        SoundBucket bucket = soundsByType.get(type);
+        if(bucket == null) return;
+        for(int i = bucket.size() - 1; i >= 0; i--) {
+            killSound(bucket.get(i));
         }
     }
 
     @Override
     public void killSound(ParrotSoundCategory category) {
         if(category == null) return;
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
-            if(soundInstance.getType().getCategory() == category) {
-                killSound(soundInstance);
-                i--;
-            }
+        SoundBucket bucket = soundsByCategory.get(category);
+        if(bucket == null) return;
+        for(int i = bucket.size() - 1; i >= 0; i--) {
+            killSound(bucket.get(i));
         }
     }
 
     @Override
     public void killAllSounds() {
-        for(int i = 0; i < soundInstances.size; i++) {
-            SoundInstance soundInstance = soundInstances.get(i);
+        // Kill from the end so every removal is a plain pop
+        for(int i = table.size() - 1; i >= 0; i--) {
+            SoundInstance soundInstance = table.instances.get(i);
             killSound(soundInstance);
         }
-        soundInstances.clear();
     }
 
     @Override
@@ -566,12 +1276,32 @@ public class SoundPlayerImpl implements SoundPlayer {
         if(soundInstance == null) return;
 
         // Stop sound
-        if(soundInstance.sound != null) soundInstance.sound.stop(soundInstance.internalId);
+        if(soundInstance.sound != null && soundInstance.internalId != -1) {
+            soundInstance.sound.stop(soundInstance.internalId);
+            metrics.recordNativeCall(NativeCall.STOP);
+        }
 
         // Unregister sound
         unregisterSound(soundInstance);
     }
 
+    @Override
+    public void setSoundDuration(Sound sound, float duration) {
+        soundDurations.setDuration(sound, duration);
+    }
+
+    @Override
+    public void forgetSound(Sound sound) {
+        soundDurations.remove(sound);
+    }
+
+    /**
+     * Returns the cache of {@link Sound} durations used by this player.
+     */
+    public SoundDurationCache getSoundDurations() {
+        return soundDurations;
+    }
+
     @Override
     public void setBoom(Boom boom) {
         this.boom = boom;
@@ -581,26 +1311,75 @@ public class SoundPlayerImpl implements SoundPlayer {
      * Registers the given sound to all collections of this instance.
      */
     private void registerSound(SoundInstance soundInstance) {
-        // Add sound to collections
-        soundInstances.add(soundInstance);
-        soundsById.put(soundInstance.id, soundInstance);
+        // Continuous sounds are shared among everyone playing the same type
+        ParrotSoundType type = soundInstance.getType();
+        if(soundInstance.playbackMode == PlaybackMode.CONTINUOUS) {
+            continuousSoundsByType.put(type, soundInstance);
+        }
+
+        // Add sound to type and category buckets
+        ParrotSoundCategory category = type.getCategory();
+        SoundBucket typeBucket = soundsByType.get(type);
+        if(typeBucket == null) {
+            typeBucket = new SoundBucket(false);
+            soundsByType.put(type, typeBucket);
+        }
+        typeBucket.add(soundInstance);
+        if(category != null) {
+            SoundBucket categoryBucket = soundsByCategory.get(category);
+            if(categoryBucket == null) {
+                categoryBucket = new SoundBucket(true);
+                soundsByCategory.put(category, categoryBucket);
+            }
+            categoryBucket.add(soundInstance);
+            metrics.addLiveSounds(category, 1);
+        }
 
-        // Limit voices
-        limitVoices(soundInstance.getType());
+        // Add sound to voice heaps
+        VoiceHeap typeVoices = voicesByType.get(type);
+        if(typeVoices == null) {
+            typeVoices = new VoiceHeap(VoiceHeap.TYPE);
+            voicesByType.put(type, typeVoices);
+        }
+        typeVoices.add(soundInstance);
+        if(category != null) {
+            VoiceHeap categoryVoices = voicesByCategory.get(category);
+            if(categoryVoices == null) {
+                categoryVoices = new VoiceHeap(VoiceHeap.CATEGORY);
+                voicesByCategory.put(category, categoryVoices);
+            }
+            categoryVoices.add(soundInstance);
+        }
+        addNativeVoice(soundInstance);
     }
 
     /**
      * Unregisters the given sound from all collections of this instance.
      */
     private void unregisterSound(SoundInstance soundInstance) {
-        // Remove from collections
-        soundInstances.removeValue(soundInstance, true);
-        soundsById.remove(soundInstance.id);
+        // Remove from the instance table, ignoring instances that aren't registered so they don't get freed twice
+        if(soundInstance.table != table) return;
+        if(table.hasFlag(soundInstance.index, SoundInstanceTable.FLAG_VIRTUAL)) virtualCount--;
+        if(!table.remove(soundInstance)) return;
 
-        // Remove continuous positions
-        if(soundInstance.playbackMode == PlaybackMode.CONTINUOUS) {
-            continuousPositionsById.remove(soundInstance.id);
+        // Remove from collections
+        removeDyingSound(soundInstance);
+        handles.release(soundInstance.id);
+        LongArray tickets = soundInstance.tickets;
+        if(tickets != null) {
+            for(int i = 0; i < tickets.size; i++) {
+                soundsByTicket.remove(tickets.get(i));
+            }
         }
+        grid.remove(soundInstance);
+        ParrotSoundType type = soundInstance.getType();
+        SoundBucket typeBucket = soundsByType.get(type);
+        if(typeBucket != null) typeBucket.remove(soundInstance);
+        ParrotSoundCategory category = type.getCategory();
+        SoundBucket categoryBucket = category == null ? null : soundsByCategory.get(category);
+        if(categoryBucket != null) categoryBucket.remove(soundInstance);
+        metrics.addLiveSounds(category, -1);
+        releaseVoice(soundInstance);
 
         // Free instances
         Pools.free(soundInstance);
@@ -608,63 +1387,67 @@ public class SoundPlayerImpl implements SoundPlayer {
 
     /**
      * Limits the amount of voices of the given {@link ParrotSoundType} playing at once. If there are more voices than the allowed amount,
-     * the oldest ones are killed.
+     * the ones with the lowest priority are stopped, oldest first.
      */
     private void limitVoices(ParrotSoundType type) {
         ParrotSoundCategory category = type.getCategory();
 
-        // Get voice limits
-        int availableVoicesForType = type.getVoices();
-        int availableVoicesForCategory = category == null ? Integer.MAX_VALUE : category.getVoices();
-
-        // Make sure we really have to limit voices at all
-        int totalSoundsPlaying = soundInstances.size;
-        if(totalSoundsPlaying <= availableVoicesForType && totalSoundsPlaying <= availableVoicesForCategory) {
-            return;
+        // Stop sounds based on category
+        if(category != null) {
+            VoiceHeap categoryVoices = voicesByCategory.get(category);
+            if(categoryVoices == null) return;
+            int availableVoicesForCategory = Math.max(category.getVoices(), 0);
+            while(categoryVoices.size() > availableVoicesForCategory) {
+                stopSound(categoryVoices.peek());
+                metrics.recordVoiceLimited();
+            }
         }
 
-        // Sort sounds before limitting
-        soundInstances.sort(priorityComparator);
-
-        // Iterate through valid sound instances
-        for(int i = soundInstances.size - 1; i >= 0; i--) {
-            SoundInstance soundInstance = soundInstances.get(i);
-            if(soundInstance.isActive() && !soundInstance.isExpired()) {
-
-                // Stop sounds based on category
-                if(soundInstance.getType().getCategory() == category) {
-                    if(availableVoicesForCategory-- <= 0) {
-                        stopSound(soundInstance);
-                    }
-
-                    // Stop sounds based on type
-                    else if(soundInstance.getType() == type) {
-                        if(availableVoicesForType-- <= 0) {
-                            stopSound(soundInstance);
-                        }
-                    }
-                }
-            }
+        // Stop sounds based on type
+        VoiceHeap typeVoices = voicesByType.get(type);
+        if(typeVoices == null) return;
+        int availableVoicesForType = Math.max(type.getVoices(), 0);
+        while(typeVoices.size() > availableVoicesForType) {
+            stopSound(typeVoices.peek());
+            metrics.recordVoiceLimited();
         }
     }
 
-    /** Returns the next available sound ID to be used. */
-    private long getNextId() {
-        while(true) {
-            nextId++;
-            if(nextId == (long) -1)
-                continue;
-            if(!soundsById.containsKey(nextId))
-                break;
+    /**
+     * Removes the given sound from the voice heaps, so it no longer counts towards voice limits. Continuous sounds also stop being shared
+     * with new plays of the same type.
+     */
+    private void releaseVoice(SoundInstance soundInstance) {
+        if(soundInstance.typeVoices != null) soundInstance.typeVoices.remove(soundInstance);
+        if(soundInstance.categoryVoices != null) soundInstance.categoryVoices.remove(soundInstance);
+        if(soundInstance.nativeVoices != null) soundInstance.nativeVoices.remove(soundInstance);
+        if(soundInstance.playbackMode == PlaybackMode.CONTINUOUS) {
+            ParrotSoundType type = soundInstance.getType();
+            if(continuousSoundsByType.get(type) == soundInstance) {
+                continuousSoundsByType.remove(type);
+            }
         }
-        return nextId;
     }
 
     @Override
     public void dispose() {
-        Pools.freeAll(soundInstances);
-        soundInstances.clear();
-        soundsById.clear();
+        for(SoundBucket bucket : soundsByType.values()) bucket.clear();
+        for(SoundBucket bucket : soundsByCategory.values()) bucket.clear();
+        for(VoiceHeap voices : voicesByType.values()) voices.clear();
+        for(VoiceHeap voices : voicesByCategory.values()) voices.clear();
+        for(VoiceHeap voices : nativeVoicesByCategory.values()) voices.clear();
+        continuousSoundsByType.clear();
+        grid.clear();
+        continuousPositions.clear();
+        continuousLinks.clear();
+        Pools.freeAll(table.instances);
+        table.clear();
+        handles.clear();
+        soundsByTicket.clear();
+        virtualCount = 0;
+        dyingHead = null;
+        dyingTail = null;
+        metrics.clearLiveSounds();
     }
 
 }
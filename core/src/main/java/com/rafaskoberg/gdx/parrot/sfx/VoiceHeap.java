@@ -0,0 +1,192 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+/**
+ * Indexed binary min-heap containing the live voices of either a {@link ParrotSoundType} or a {@link ParrotSoundCategory}, or only the
+ * voices of a {@link ParrotSoundCategory} currently holding or about to hold a native source. Voices are
+ * ordered by priority, then by their audibility score and then by age, so the root is always the first voice to be stopped when limiting
+ * voices.
+ * <p>
+ * Each {@link SoundInstance} stores its own index in the heaps it belongs to, which allows arbitrary voices to be removed or re-sorted in
+ * O(log n) time.
+ */
+class VoiceHeap {
+    /** Heap of all live voices of a type. */
+    static final int TYPE = 0;
+    /** Heap of all live voices of a category. */
+    static final int CATEGORY = 1;
+    /** Heap of the live voices of a category that aren't virtual. */
+    static final int NATIVE = 2;
+
+    private final int kind;
+    private SoundInstance[] items;
+    private int size;
+
+    /**
+     * @param kind Which voices this heap tracks, either {@link #TYPE}, {@link #CATEGORY} or {@link #NATIVE}.
+     */
+    VoiceHeap(int kind) {
+        this.kind = kind;
+        this.items = new SoundInstance[16];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the amount of voices in this heap.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the voice that should be stopped first, or {@code null} if this heap is empty.
+     */
+    SoundInstance peek() {
+        return size == 0 ? null : items[0];
+    }
+
+    /**
+     * Adds the given voice to this heap.
+     */
+    void add(SoundInstance soundInstance) {
+        if(size == items.length) {
+            SoundInstance[] newItems = new SoundInstance[size << 1];
+            System.arraycopy(items, 0, newItems, 0, size);
+            items = newItems;
+        }
+        setOwner(soundInstance, this);
+        place(soundInstance, size++);
+        siftUp(size - 1);
+    }
+
+    /**
+     * Removes the given voice from this heap, if present.
+     */
+    void remove(SoundInstance soundInstance) {
+        if(getOwner(soundInstance) != this) return;
+        int index = getIndex(soundInstance);
+        SoundInstance last = items[--size];
+        items[size] = null;
+        if(index != size) {
+            place(last, index);
+            siftDown(index);
+            siftUp(getIndex(last));
+        }
+        setOwner(soundInstance, null);
+        setIndex(soundInstance, -1);
+    }
+
+    /**
+     * Restores the order of the given voice after its priority or score changes.
+     */
+    void update(SoundInstance soundInstance) {
+        if(getOwner(soundInstance) != this) return;
+        int index = getIndex(soundInstance);
+        siftDown(index);
+        siftUp(getIndex(soundInstance));
+    }
+
+    /**
+     * Removes all voices from this heap.
+     */
+    void clear() {
+        for(int i = 0; i < size; i++) {
+            setOwner(items[i], null);
+            setIndex(items[i], -1);
+            items[i] = null;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        SoundInstance soundInstance = items[index];
+        while(index > 0) {
+            int parent = (index - 1) >>> 1;
+            SoundInstance parentInstance = items[parent];
+            if(compare(soundInstance, parentInstance) >= 0) break;
+            place(parentInstance, index);
+            index = parent;
+        }
+        place(soundInstance, index);
+    }
+
+    private void siftDown(int index) {
+        SoundInstance soundInstance = items[index];
+        int half = size >>> 1;
+        while(index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if(right < size && compare(items[right], items[child]) < 0) child = right;
+            if(compare(soundInstance, items[child]) <= 0) break;
+            place(items[child], index);
+            index = child;
+        }
+        place(soundInstance, index);
+    }
+
+    /**
+     * Lower priorities come first, then less audible voices, and then older voices.
+     */
+    static int compare(SoundInstance a, SoundInstance b) {
+        int result = Integer.compare(a.getPriority(), b.getPriority());
+        if(result != 0) return result;
+        result = Float.compare(a.getScore(), b.getScore());
+        if(result != 0) return result;
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    private void place(SoundInstance soundInstance, int index) {
+        items[index] = soundInstance;
+        setIndex(soundInstance, index);
+    }
+
+    private int getIndex(SoundInstance soundInstance) {
+        switch(kind) {
+            case CATEGORY:
+                return soundInstance.categoryVoiceIndex;
+            case NATIVE:
+                return soundInstance.nativeVoiceIndex;
+            default:
+                return soundInstance.typeVoiceIndex;
+        }
+    }
+
+    private void setIndex(SoundInstance soundInstance, int index) {
+        switch(kind) {
+            case CATEGORY:
+                soundInstance.categoryVoiceIndex = index;
+                break;
+            case NATIVE:
+                soundInstance.nativeVoiceIndex = index;
+                break;
+            default:
+                soundInstance.typeVoiceIndex = index;
+                break;
+        }
+    }
+
+    private VoiceHeap getOwner(SoundInstance soundInstance) {
+        switch(kind) {
+            case CATEGORY:
+                return soundInstance.categoryVoices;
+            case NATIVE:
+                return soundInstance.nativeVoices;
+            default:
+                return soundInstance.typeVoices;
+        }
+    }
+
+    private void setOwner(SoundInstance soundInstance, VoiceHeap heap) {
+        switch(kind) {
+            case CATEGORY:
+                soundInstance.categoryVoices = heap;
+                break;
+            case NATIVE:
+                soundInstance.nativeVoices = heap;
+                break;
+            default:
+                soundInstance.typeVoices = heap;
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.rafaskoberg.gdx.parrot.util;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.math.MathUtils;
+import com.rafaskoberg.gdx.parrot.ParrotSettings;
+
+/**
+ * Precomputed distance rolloff based on {@link ParrotSettings#distanceRolloffMinDistance}, {@link ParrotSettings#distanceRolloffMaxDistance},
+ * {@link ParrotSettings#distanceRolloffMinGain} and {@link ParrotSettings#distanceRolloffCurve}. Gains are sampled against the squared
+ * distance to the listener, so evaluating the rolloff of a sound requires neither a square root nor a call to the curve. The table is
+ * rebuilt automatically whenever any of these settings change.
+ */
+public class DistanceRolloff {
+    private static final int RESOLUTION = 1024;
+
+    private final ParrotSettings settings;
+    private final float[] table;
+    private float minDistance;
+    private float maxDistance;
+    private float minGain;
+    private Interpolation curve;
+    private float startDistance2;
+    private float endDistance2;
+    private float scale;
+    private boolean built;
+
+    public DistanceRolloff(ParrotSettings settings) {
+        this.settings = settings;
+        this.table = new float[RESOLUTION + 1];
+        this.built = false;
+    }
+
+    /**
+     * Returns the gain multiplier of a sound based on its squared distance to the listener.
+     */
+    public float getGain(float distance2) {
+        if(!isValid()) build();
+        if(distance2 <= startDistance2) return table[0];
+        if(distance2 >= endDistance2) return table[RESOLUTION];
+        float position = (distance2 - startDistance2) * scale;
+        int index = (int) position;
+        if(index >= RESOLUTION) return table[RESOLUTION];
+        float start = table[index];
+        return start + (table[index + 1] - start) * (position - index);
+    }
+
+    /**
+     * Returns whether or not the table still matches the settings.
+     */
+    private boolean isValid() {
+        return built
+            && minDistance == settings.distanceRolloffMinDistance
+            && maxDistance == settings.distanceRolloffMaxDistance
+            && minGain == settings.distanceRolloffMinGain
+            && curve == settings.distanceRolloffCurve;
+    }
+
+    private void build() {
+        minDistance = settings.distanceRolloffMinDistance;
+        maxDistance = settings.distanceRolloffMaxDistance;
+        minGain = settings.distanceRolloffMinGain;
+        curve = settings.distanceRolloffCurve;
+
+        // Gains only change between the min distance and the point where the rolloff reaches its end
+        float startDistance = Math.max(minDistance, 0);
+        float endDistance = Math.max(minDistance + Math.max(maxDistance, 0), startDistance);
+        startDistance2 = startDistance * startDistance;
+        endDistance2 = endDistance * endDistance;
+        float range2 = endDistance2 - startDistance2;
+        scale = range2 > 0 ? RESOLUTION / range2 : 0;
+
+        // Sample gains, making sure everything beyond the end gets the final gain of the curve
+        for(int i = 0; i < RESOLUTION; i++) {
+            float distance2 = startDistance2 + range2 * i / RESOLUTION;
+            table[i] = calculateGain((float) Math.sqrt(distance2));
+        }
+        table[RESOLUTION] = curve.apply(minGain, 1, 0);
+        built = true;
+    }
+
+    /**
+     * Calculates the gain for the given distance straight from the settings.
+     */
+    private float calculateGain(float distance) {
+        if(distance <= minDistance) return 1;
+        float dstFactorRaw = maxDistance > 0 ? MathUtils.clamp((distance - minDistance) / maxDistance, 0.0f, 1.0f) : 1.0f;
+        return curve.apply(minGain, 1, 1 - dstFactorRaw);
+    }
+
+}
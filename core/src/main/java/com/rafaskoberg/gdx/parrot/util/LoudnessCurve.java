@@ -0,0 +1,71 @@
+package com.rafaskoberg.gdx.parrot.util;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.rafaskoberg.gdx.parrot.ParrotSettings;
+
+/**
+ * Precomputed perceived loudness curve based on {@link ParrotSettings#loudnessExponentialCurve}. The curve is sampled into a fixed-size
+ * table and evaluated through linear interpolation, so no transcendental math is needed while updating audio. The table is rebuilt
+ * automatically whenever the setting changes.
+ */
+public class LoudnessCurve {
+    private static final float MIN_VOLUME = 0.000001f;
+    private static final int RESOLUTION = 1024;
+
+    private final ParrotSettings settings;
+    private final float[] table;
+    private int exponent;
+    private boolean built;
+
+    public LoudnessCurve(ParrotSettings settings) {
+        this.settings = settings;
+        this.table = new float[RESOLUTION + 1];
+        this.built = false;
+    }
+
+    /**
+     * Calculates the perceived volume based on the given linear one. Equivalent to
+     * {@link ParrotUtils#getPerceivedVolume(float, float)} for volumes between 0 and 1.
+     */
+    public float getPerceivedVolume(float volume) {
+        return MathUtils.clamp(sample(volume), MIN_VOLUME, 1.0f);
+    }
+
+    /**
+     * Applies the loudness curve to the progress of a fade-in, from 0 to 1.
+     */
+    public float applyIn(float a) {
+        return sample(a);
+    }
+
+    /**
+     * Applies the loudness curve to the progress of a fade-out, from 0 to 1.
+     */
+    public float applyOut(float a) {
+        return 1 - sample(1 - a);
+    }
+
+    /**
+     * Samples the curve at the given position, clamped to the 0-1 range.
+     */
+    private float sample(float a) {
+        if(!built || exponent != settings.loudnessExponentialCurve) {
+            build(settings.loudnessExponentialCurve);
+        }
+        if(a <= 0) return table[0];
+        if(a >= 1) return table[RESOLUTION];
+        float position = a * RESOLUTION;
+        int index = (int) position;
+        float start = table[index];
+        return start + (table[index + 1] - start) * (position - index);
+    }
+
+    private void build(int exponent) {
+        for(int i = 0; i <= RESOLUTION; i++) {
+            table[i] = (float) Math.pow(i / (double) RESOLUTION, exponent);
+        }
+        this.exponent = exponent;
+        this.built = true;
+    }
+
+}
@@ -3,15 +3,14 @@ package com.rafaskoberg.gdx.parrot.util;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
-import com.badlogic.gdx.utils.reflect.ClassReflection;
-import com.badlogic.gdx.utils.reflect.Method;
-import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.rafaskoberg.gdx.parrot.backend.Lwjgl3ParrotBackend;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackend;
 
 /** Utility class for the Parrot library. */
 public class ParrotUtils {
     private static final float MIN_VOLUME = 0.000001f;
 
-    private static Method methodOpenALSoundDuration;
+    private static Lwjgl3ParrotBackend lwjgl3Backend;
 
     /**
      * Returns whether or not this app is running on desktop.
@@ -22,25 +21,18 @@ public class ParrotUtils {
 
     /**
      * Returns the duration of a {@link Sound} instance, if the current backend allows it. Currently it's only possible to obtain the
-     * duration of a {@link Sound} on Desktop.
+     * duration of a {@link Sound} on the lwjgl3 backend.
      *
      * @param defaultDuration Duration to be returned in case something goes wrong.
+     * @deprecated Use {@link ParrotBackend#getSoundDuration(Sound)} through {@link com.rafaskoberg.gdx.parrot.Parrot#getBackend()}, which
+     * doesn't assume the lwjgl3 backend.
      */
+    @Deprecated
     public static float getSoundDuration(Sound sound, float defaultDuration) {
-        float duration = defaultDuration;
-        try {
-            if(isDesktop()) {
-                if(methodOpenALSoundDuration == null) {
-                    String className = "com.badlogic.gdx.backends.lwjgl3.audio.OpenALSound";
-                    Class<? extends Sound> clazz = ClassReflection.forName(className);
-                    methodOpenALSoundDuration = ClassReflection.getMethod(clazz, "duration");
-                }
-                duration = (float) methodOpenALSoundDuration.invoke(sound);
-            }
-        } catch(ReflectionException e) {
-            e.printStackTrace();
-        }
-        return duration;
+        if(sound == null || !isDesktop()) return defaultDuration;
+        if(lwjgl3Backend == null) lwjgl3Backend = new Lwjgl3ParrotBackend();
+        float duration = lwjgl3Backend.getSoundDuration(sound);
+        return duration < 0 ? defaultDuration : duration;
     }
 
     /**
@@ -0,0 +1,78 @@
+package com.rafaskoberg.gdx.parrot.util;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackend;
+
+/**
+ * Caches the duration of {@link Sound}s, so it's resolved only once per {@link Sound}, the first time it's seen. Sounds whose duration
+ * can't be resolved are remembered as well, so failing lookups are never retried.
+ * <p>
+ * Sounds are kept as keys until {@link #remove(Sound)} or {@link #clear()} are called, which should be done when they're disposed. Durations
+ * are resolved through a {@link ParrotBackend}, and switching to a different backend forgets every duration resolved so far. Durations set
+ * through {@link #setDuration(Sound, float)} are kept apart, and always take precedence.
+ */
+public class SoundDurationCache {
+    private static final float UNKNOWN = -1;
+
+    private final ObjectFloatMap<Sound> durations;
+    private final ObjectFloatMap<Sound> manualDurations;
+    private ParrotBackend backend;
+
+    public SoundDurationCache() {
+        this.durations = new ObjectFloatMap<>();
+        this.manualDurations = new ObjectFloatMap<>();
+    }
+
+    /**
+     * Returns the duration in seconds of the given {@link Sound}, resolving it through the given backend if this is the first time it's
+     * seen.
+     *
+     * @param defaultDuration Duration to be returned in case the backend can't report it.
+     */
+    public float getDuration(Sound sound, ParrotBackend backend, float defaultDuration) {
+        if(sound == null) return defaultDuration;
+
+        // Manually set durations don't depend on the backend
+        float duration = manualDurations.get(sound, Float.NaN);
+        if(!Float.isNaN(duration)) return duration;
+
+        // Otherwise resolve it through the backend
+        if(backend != this.backend) {
+            durations.clear();
+            this.backend = backend;
+        }
+        duration = durations.get(sound, Float.NaN);
+        if(Float.isNaN(duration)) {
+            duration = backend.getSoundDuration(sound);
+            if(duration < 0) duration = UNKNOWN;
+            durations.put(sound, duration);
+        }
+        return duration == UNKNOWN ? defaultDuration : duration;
+    }
+
+    /**
+     * Manually sets the duration in seconds of the given {@link Sound}, e.g. for backends that can't report it. The duration is kept until
+     * the sound is removed, even if the backend changes.
+     */
+    public void setDuration(Sound sound, float duration) {
+        manualDurations.put(sound, duration);
+    }
+
+    /**
+     * Forgets the duration of the given {@link Sound}, whether it was resolved or set manually.
+     */
+    public void remove(Sound sound) {
+        durations.remove(sound, UNKNOWN);
+        manualDurations.remove(sound, UNKNOWN);
+    }
+
+    /**
+     * Forgets the duration of all sounds.
+     */
+    public void clear() {
+        durations.clear();
+        manualDurations.clear();
+    }
+
+}
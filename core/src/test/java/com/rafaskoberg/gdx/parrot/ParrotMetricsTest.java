@@ -0,0 +1,57 @@
+package com.rafaskoberg.gdx.parrot;
+
+import com.rafaskoberg.gdx.parrot.ParrotMetrics.Timing;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParrotMetricsTest {
+
+    @Test
+    public void timingsOnlyKeepTheirWindow() {
+        Timing timing = new Timing(4);
+        for(int i = 1; i <= 6; i++) {
+            timing.record(i * 100, 0);
+        }
+        assertEquals(4, timing.getCount());
+        assertEquals(600, timing.getLast());
+        assertEquals(300, timing.getMin());
+        assertEquals(600, timing.getMax());
+        assertEquals(450, timing.getAverage(), 0);
+    }
+
+    @Test
+    public void timingPercentilesUseTheNearestRank() {
+        Timing timing = new Timing(100);
+        for(int i = 100; i >= 1; i--) {
+            timing.record(i, 0);
+        }
+        assertEquals(1, timing.getPercentile(0));
+        assertEquals(50, timing.getPercentile(0.5f));
+        assertEquals(99, timing.getP99());
+        assertEquals(100, timing.getPercentile(1));
+
+        // Percentiles are sorted again after new samples
+        timing.record(1000, 0);
+        assertEquals(1000, timing.getPercentile(1));
+    }
+
+    @Test
+    public void resetTimingsAreEmpty() {
+        Timing timing = new Timing(4);
+        timing.record(100, 0);
+        timing.reset();
+        assertEquals(0, timing.getCount());
+        assertEquals(0, timing.getLast());
+        assertEquals(0, timing.getMin());
+        assertEquals(0, timing.getMax());
+        assertEquals(0, timing.getAverage(), 0);
+        assertEquals(0, timing.getP99());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timingsNeedAWindow() {
+        new Timing(0);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.rafaskoberg.gdx.parrot;
+
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingAudio;
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingParrotBackend;
+
+/**
+ * Creates {@link Parrot} instances running on a {@link RecordingAudio}, and drives their updates.
+ */
+public class TestParrots {
+    /** Delta of each simulated frame, in seconds. */
+    public static final float DELTA = 1.0f / 60.0f;
+
+    /**
+     * Returns a new {@link Parrot} running on a {@link RecordingParrotBackend} and sharing the clock of the given audio, so sounds and
+     * music play in sync with updates.
+     */
+    public static Parrot create(RecordingAudio audio) {
+        Parrot parrot = new Parrot();
+        parrot.setBackend(new RecordingParrotBackend());
+        parrot.setClock(audio.getClock());
+        return parrot;
+    }
+
+    /**
+     * Updates the given {@link Parrot} frame by frame until the given amount of seconds has passed.
+     */
+    public static void update(Parrot parrot, float seconds) {
+        int frames = Math.round(seconds / DELTA);
+        for(int i = 0; i < frames; i++) {
+            parrot.update(DELTA);
+        }
+    }
+
+}
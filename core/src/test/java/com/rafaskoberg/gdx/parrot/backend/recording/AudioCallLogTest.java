@@ -0,0 +1,80 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class AudioCallLogTest {
+
+    @Test
+    public void recordsCalls() {
+        AudioCallLog log = new AudioCallLog(8);
+        Object target = new Object();
+        log.record(Call.SOUND_PLAY, 100, target, 7, 0.5f, 1.5f, -1);
+
+        assertEquals(1, log.size());
+        assertEquals(Call.SOUND_PLAY, log.getCall(0));
+        assertSame(target, log.getTarget(0));
+        assertEquals(7, log.getId(0));
+        assertEquals(100, log.getTime(0));
+        assertEquals(0.5f, log.getValue(0, 0), 0);
+        assertEquals(1.5f, log.getValue(0, 1), 0);
+        assertEquals(-1, log.getValue(0, 2), 0);
+    }
+
+    @Test
+    public void overwritesOldestCallsOnceFull() {
+        AudioCallLog log = new AudioCallLog(3);
+        for(int i = 0; i < 5; i++) {
+            log.record(Call.SOUND_SET_VOLUME, i, null, i, i, 0, 0);
+        }
+
+        assertEquals(3, log.size());
+        assertEquals(5, log.getTotalCount());
+        for(int i = 0; i < 3; i++) {
+            assertEquals(i + 2, log.getId(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsIndicesOutsideTheLog() {
+        AudioCallLog log = new AudioCallLog(3);
+        log.record(Call.SOUND_STOP, 0, null, 1, 0, 0, 0);
+        log.getCall(1);
+    }
+
+    @Test
+    public void countsAndFindsCalls() {
+        AudioCallLog log = new AudioCallLog(8);
+        Object first = new Object();
+        Object second = new Object();
+        log.record(Call.SOUND_PLAY, 0, first, -1, 1, 1, 0);
+        log.record(Call.SOUND_STOP, 1, first, 3, 0, 0, 0);
+        log.record(Call.SOUND_PLAY, 2, second, -1, 1, 1, 0);
+        log.record(Call.SOUND_STOP, 3, second, 4, 0, 0, 0);
+
+        assertEquals(2, log.count(Call.SOUND_PLAY));
+        assertEquals(1, log.count(Call.SOUND_PLAY, second));
+        assertEquals(0, log.count(Call.SOUND_PAUSE));
+        assertEquals(3, log.lastIndexOf(Call.SOUND_STOP, -1));
+        assertEquals(1, log.lastIndexOf(Call.SOUND_STOP, 3));
+        assertEquals(-1, log.lastIndexOf(Call.SOUND_STOP, 5));
+    }
+
+    @Test
+    public void disabledLogDoesNotRecord() {
+        AudioCallLog log = new AudioCallLog(8);
+        log.setEnabled(false);
+        log.record(Call.SOUND_PLAY, 0, null, -1, 1, 1, 0);
+        assertEquals(0, log.size());
+
+        log.setEnabled(true);
+        log.record(Call.SOUND_PLAY, 0, null, -1, 1, 1, 0);
+        log.clear();
+        assertEquals(0, log.size());
+        assertEquals(0, log.getTotalCount());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.rafaskoberg.gdx.parrot.ParrotClock;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RecordingMusicTest {
+    private RecordingAudio audio;
+    private ParrotClock clock;
+    private RecordingMusic music;
+
+    @Before
+    public void setUp() {
+        audio = new RecordingAudio();
+        clock = audio.getClock();
+        music = audio.newMusic("song", 10.0f);
+    }
+
+    @Test
+    public void positionAdvancesWhilePlaying() {
+        music.play();
+        clock.update(2);
+        assertEquals(2, music.getPosition(), 0.0001f);
+
+        music.pause();
+        clock.update(2);
+        assertFalse(music.isPlaying());
+        assertEquals(2, music.getPosition(), 0.0001f);
+
+        music.stop();
+        assertEquals(0, music.getPosition(), 0);
+    }
+
+    @Test
+    public void completesOnceFinished() {
+        int[] completions = new int[1];
+        music.setOnCompletionListener(m -> completions[0]++);
+        music.play();
+        clock.update(11);
+
+        assertFalse(music.isPlaying());
+        assertEquals(1, completions[0]);
+    }
+
+    @Test
+    public void loopsOnceFinished() {
+        music.setLooping(true);
+        music.play();
+        music.setPosition(9);
+        clock.update(2);
+
+        assertTrue(music.isPlaying());
+        assertEquals(1, music.getPosition(), 0.0001f);
+    }
+
+    @Test
+    public void recordsCalls() {
+        music.play();
+        music.setVolume(0.5f);
+        music.stop();
+
+        AudioCallLog log = audio.getLog();
+        assertEquals(3, log.size());
+        assertEquals(Call.MUSIC_PLAY, log.getCall(0));
+        assertEquals(Call.MUSIC_SET_VOLUME, log.getCall(1));
+        assertEquals(0.5f, log.getValue(1, 0), 0);
+        assertEquals(Call.MUSIC_STOP, log.getCall(2));
+        assertEquals(0.5f, music.getVolume(), 0);
+    }
+
+}
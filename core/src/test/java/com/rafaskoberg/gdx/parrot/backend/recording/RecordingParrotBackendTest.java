@@ -0,0 +1,42 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Gdx;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackend;
+import com.rafaskoberg.gdx.parrot.backend.ParrotBackends;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RecordingParrotBackendTest {
+    private Audio previousAudio;
+
+    @Before
+    public void setUp() {
+        previousAudio = Gdx.audio;
+    }
+
+    @After
+    public void tearDown() {
+        Gdx.audio = previousAudio;
+    }
+
+    @Test
+    public void isProbedWhenRecordingAudioIsSet() {
+        Gdx.audio = new RecordingAudio();
+        ParrotBackend backend = ParrotBackends.probe();
+        assertTrue(backend instanceof RecordingParrotBackend);
+    }
+
+    @Test
+    public void reportsSoundDurations() {
+        RecordingAudio audio = new RecordingAudio();
+        RecordingParrotBackend backend = new RecordingParrotBackend();
+        assertEquals(1.5f, backend.getSoundDuration(audio.newSound("beep", 1.5f)), 0);
+        assertEquals(-1, backend.getSoundDuration(audio.newSound("endless", 0)), 0);
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.rafaskoberg.gdx.parrot.backend.recording;
+
+import com.rafaskoberg.gdx.parrot.ParrotClock;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RecordingSoundTest {
+    private RecordingAudio audio;
+    private ParrotClock clock;
+    private RecordingSound sound;
+
+    @Before
+    public void setUp() {
+        audio = new RecordingAudio();
+        clock = audio.getClock();
+        sound = audio.newSound("beep", 1.0f);
+    }
+
+    @Test
+    public void issuesUniqueIds() {
+        RecordingSound other = audio.newSound("boop", 1.0f);
+        long first = sound.play();
+        long second = other.play();
+        long third = sound.play();
+
+        assertTrue(first > 0);
+        assertNotEquals(first, second);
+        assertNotEquals(first, third);
+        assertNotEquals(second, third);
+        assertFalse(sound.isPlaying(second));
+        assertFalse(other.isPlaying(first));
+    }
+
+    @Test
+    public void tracksStatePerId() {
+        long first = sound.play(0.5f, 1.5f, -0.25f);
+        long second = sound.loop();
+        sound.setPan(second, 0.75f, 0.2f);
+        sound.setPitch(second, 0.5f);
+
+        assertEquals(0.5f, sound.getVolume(first), 0);
+        assertEquals(1.5f, sound.getPitch(first), 0);
+        assertEquals(-0.25f, sound.getPan(first), 0);
+        assertFalse(sound.isLooping(first));
+        assertEquals(0.2f, sound.getVolume(second), 0);
+        assertEquals(0.5f, sound.getPitch(second), 0);
+        assertEquals(0.75f, sound.getPan(second), 0);
+        assertTrue(sound.isLooping(second));
+
+        sound.setLooping(second, false);
+        assertFalse(sound.isLooping(second));
+    }
+
+    @Test
+    public void positionAdvancesWithClockScaledByPitch() {
+        long id = sound.play(1, 2, 0);
+        clock.update(0.25f);
+        assertEquals(0.5f, sound.getPosition(id), 0.0001f);
+
+        sound.setPitch(id, 1);
+        clock.update(0.25f);
+        assertEquals(0.75f, sound.getPosition(id), 0.0001f);
+    }
+
+    @Test
+    public void oneShotInstancesEndAtTheirDuration() {
+        long id = sound.play();
+        clock.update(0.9f);
+        assertTrue(sound.isPlaying(id));
+
+        clock.update(0.2f);
+        assertFalse(sound.isPlaying(id));
+        assertEquals(0, sound.getActiveCount());
+    }
+
+    @Test
+    public void loopingInstancesWrapAround() {
+        long id = sound.loop();
+        clock.update(2.5f);
+        assertTrue(sound.isPlaying(id));
+        assertEquals(0.5f, sound.getPosition(id), 0.0001f);
+    }
+
+    @Test
+    public void pausedInstancesKeepTheirPosition() {
+        long id = sound.play();
+        clock.update(0.25f);
+        sound.pause(id);
+        clock.update(0.5f);
+        assertTrue(sound.isPaused(id));
+        assertFalse(sound.isPlaying(id));
+        assertEquals(0.25f, sound.getPosition(id), 0.0001f);
+
+        sound.resume(id);
+        clock.update(0.25f);
+        assertTrue(sound.isPlaying(id));
+        assertEquals(0.5f, sound.getPosition(id), 0.0001f);
+    }
+
+    @Test
+    public void stoppedIdsStayInvalidAfterSlotsAreReused() {
+        long first = sound.play();
+        sound.stop(first);
+        long second = sound.play();
+
+        assertFalse(sound.isPlaying(first));
+        assertTrue(sound.isPlaying(second));
+
+        // Calls with stale IDs don't affect the new instance
+        sound.setVolume(first, 0.1f);
+        assertEquals(1, sound.getVolume(second), 0);
+    }
+
+    @Test
+    public void seekMovesPosition() {
+        long id = sound.play();
+        sound.seek(id, 0.8f);
+        clock.update(0.1f);
+        assertEquals(0.9f, sound.getPosition(id), 0.0001f);
+    }
+
+    @Test
+    public void stopAllStopsEveryInstance() {
+        sound.play();
+        sound.loop();
+        assertEquals(2, sound.getActiveCount());
+
+        sound.stop();
+        assertEquals(0, sound.getActiveCount());
+    }
+
+    @Test
+    public void disposedSoundsRefuseToPlay() {
+        sound.dispose();
+        assertTrue(sound.isDisposed());
+        assertEquals(-1, sound.play());
+    }
+
+    @Test
+    public void recordsCalls() {
+        AudioCallLog log = audio.getLog();
+        clock.update(1);
+        long id = sound.play(0.5f, 1, 0.25f);
+        sound.setPan(id, -0.5f, 0.75f);
+        sound.stop(id);
+
+        assertEquals(3, log.size());
+        assertEquals(Call.SOUND_PLAY, log.getCall(0));
+        assertEquals(0.5f, log.getValue(0, 0), 0);
+        assertEquals(0.25f, log.getValue(0, 2), 0);
+        assertEquals(audio.getTime(), log.getTime(0));
+        assertEquals(Call.SOUND_SET_PAN, log.getCall(1));
+        assertEquals(id, log.getId(1));
+        assertEquals(-0.5f, log.getValue(1, 0), 0);
+        assertEquals(0.75f, log.getValue(1, 1), 0);
+        assertEquals(Call.SOUND_STOP, log.getCall(2));
+        assertEquals(sound, log.getTarget(2));
+    }
+
+}
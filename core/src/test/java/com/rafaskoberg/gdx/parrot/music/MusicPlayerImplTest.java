@@ -0,0 +1,109 @@
+package com.rafaskoberg.gdx.parrot.music;
+
+import com.badlogic.gdx.audio.Music;
+import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.TestParrots;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingAudio;
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingMusic;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.rafaskoberg.gdx.parrot.TestParrots.DELTA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MusicPlayerImplTest {
+    private RecordingAudio audio;
+    private Parrot parrot;
+    private RecordingMusic music;
+    private ParrotMusicType musicType;
+
+    @Before
+    public void setUp() {
+        audio = new RecordingAudio();
+        parrot = TestParrots.create(audio);
+        music = audio.newMusic("song", 30);
+        musicType = musicType(music);
+    }
+
+    @Test
+    public void musicFadesIn() {
+        parrot.playMusic(musicType, true, true);
+        parrot.update(DELTA);
+        assertTrue(music.isPlaying());
+        assertEquals(1, audio.getLog().count(Call.MUSIC_PLAY));
+
+        TestParrots.update(parrot, parrot.getSettings().musicFadeInDuration / 2);
+        float volume = music.getVolume();
+        assertTrue(volume > 0 && volume < 1);
+
+        TestParrots.update(parrot, parrot.getSettings().musicFadeInDuration);
+        assertEquals(1, music.getVolume(), 0.0001f);
+        assertTrue(parrot.isMusicPlaying(0));
+        assertSame(musicType, parrot.getCurrentMusic(0));
+    }
+
+    @Test
+    public void playingOnTheSameChannelFadesOutThePreviousMusic() {
+        RecordingMusic otherMusic = audio.newMusic("other", 30);
+        ParrotMusicType otherType = musicType(otherMusic);
+        parrot.playMusic(musicType, true, false);
+        TestParrots.update(parrot, 1);
+
+        parrot.playMusic(otherType, true, true);
+        TestParrots.update(parrot, parrot.getSettings().musicFadeOutDuration + 0.1f);
+        assertFalse(music.isPlaying());
+        assertTrue(otherMusic.isPlaying());
+        assertSame(otherType, parrot.getCurrentMusic(0));
+    }
+
+    @Test
+    public void finishedMusicIsRemoved() {
+        RecordingMusic shortMusic = audio.newMusic("jingle", 2);
+        ParrotMusicType shortType = musicType(shortMusic);
+        parrot.playMusic(shortType, false, false);
+        TestParrots.update(parrot, 1);
+        assertTrue(parrot.isMusicPlaying(0));
+
+        TestParrots.update(parrot, 2);
+        assertFalse(parrot.isMusicPlaying(0));
+        assertNull(parrot.getCurrentMusic(0));
+    }
+
+    @Test
+    public void pausedMusicKeepsItsPosition() {
+        parrot.playMusic(musicType, true, false);
+        TestParrots.update(parrot, 1);
+
+        parrot.pauseMusic(musicType, false);
+        parrot.update(DELTA);
+        float position = music.getPosition();
+        TestParrots.update(parrot, 1);
+        assertFalse(music.isPlaying());
+        assertEquals(position, music.getPosition(), 0);
+
+        parrot.resumeMusic(musicType, false);
+        TestParrots.update(parrot, 1);
+        assertTrue(music.isPlaying());
+        assertTrue(music.getPosition() > position);
+    }
+
+    private static ParrotMusicType musicType(Music music) {
+        return new ParrotMusicType() {
+            @Override
+            public Music getMusic() {
+                return music;
+            }
+
+            @Override
+            public float getRelativeVolume() {
+                return 1.0f;
+            }
+        };
+    }
+
+}
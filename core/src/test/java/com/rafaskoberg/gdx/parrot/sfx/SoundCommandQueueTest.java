@@ -0,0 +1,115 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+import com.rafaskoberg.gdx.parrot.sfx.SoundCommandQueue.Command;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SoundCommandQueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int COMMANDS_PER_PRODUCER = 20000;
+
+    @Test
+    public void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new SoundCommandQueue(5).capacity());
+        assertEquals(8, new SoundCommandQueue(8).capacity());
+        assertEquals(2, new SoundCommandQueue(0).capacity());
+    }
+
+    @Test
+    public void commandsAreRejectedWhileTheQueueIsFull() {
+        SoundCommandQueue queue = new SoundCommandQueue(2);
+        assertTrue(queue.offer(SoundCommandQueue.STOP, 1));
+        assertTrue(queue.offer(SoundCommandQueue.KILL, 2));
+        assertFalse(queue.offer(SoundCommandQueue.TOUCH, 3));
+        assertEquals(-1, queue.offerPlay(null, -1, 0, 0, 1, 1, null, -1));
+
+        // Polling frees a slot
+        Command command = new Command();
+        assertTrue(queue.poll(command));
+        assertEquals(SoundCommandQueue.STOP, command.kind);
+        assertTrue(queue.offer(SoundCommandQueue.TOUCH, 3));
+    }
+
+    @Test
+    public void playsAreGivenDistinctTickets() {
+        SoundCommandQueue queue = new SoundCommandQueue(4);
+        long first = queue.offerPlay(null, 2, 4, 5, 0.5f, 1.5f, PlaybackMode.ETERNAL, 3);
+        long second = queue.offerPlay(null, -1, 0, 0, 1, 1, null, -1);
+        assertTrue(SoundCommandQueue.isTicket(first));
+        assertTrue(SoundCommandQueue.isTicket(second));
+        assertNotEquals(first, second);
+        assertFalse(SoundCommandQueue.isTicket(-1));
+
+        Command command = new Command();
+        assertTrue(queue.poll(command));
+        assertEquals(SoundCommandQueue.PLAY, command.kind);
+        assertEquals(first, command.id);
+        assertEquals(2, command.soundIndex);
+        assertEquals(4, command.x, 0);
+        assertEquals(5, command.y, 0);
+        assertEquals(0.5f, command.volumeFactor, 0);
+        assertEquals(1.5f, command.pitch, 0);
+        assertEquals(PlaybackMode.ETERNAL, command.mode);
+        assertEquals(3, command.boomChannel);
+    }
+
+    @Test(timeout = 30000)
+    public void concurrentProducersAreReceivedExactlyOnceAndInOrder() throws InterruptedException {
+        // Small capacity, so producers keep running into a full queue
+        SoundCommandQueue queue = new SoundCommandQueue(64);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[PRODUCERS];
+        for(int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch(InterruptedException e) {
+                    return;
+                }
+                for(int i = 0; i < COMMANDS_PER_PRODUCER; i++) {
+                    long id = ((long) producer << 32) | i;
+                    while(!queue.offer(SoundCommandQueue.SET_COORDINATES, id, producer, i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+        start.countDown();
+
+        // Consume from this thread while producers are running
+        int[] nextByProducer = new int[PRODUCERS];
+        Command command = new Command();
+        int received = 0;
+        while(received < PRODUCERS * COMMANDS_PER_PRODUCER) {
+            if(!queue.poll(command)) {
+                Thread.yield();
+                continue;
+            }
+            int producer = (int) (command.id >>> 32);
+            int index = (int) command.id;
+            assertEquals(SoundCommandQueue.SET_COORDINATES, command.kind);
+            assertEquals(nextByProducer[producer], index);
+            assertEquals(producer, command.x, 0);
+            assertEquals(index, command.y, 0);
+            nextByProducer[producer]++;
+            received++;
+        }
+        for(Thread producer : producers) {
+            producer.join();
+        }
+
+        assertFalse(queue.poll(command));
+        for(int p = 0; p < PRODUCERS; p++) {
+            assertEquals(COMMANDS_PER_PRODUCER, nextByProducer[p]);
+        }
+    }
+
+}
@@ -0,0 +1,747 @@
+package com.rafaskoberg.gdx.parrot.sfx;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.rafaskoberg.gdx.parrot.Parrot;
+import com.rafaskoberg.gdx.parrot.ParrotMetrics;
+import com.rafaskoberg.gdx.parrot.ParrotMetrics.NativeCall;
+import com.rafaskoberg.gdx.parrot.ParrotMetrics.PlayRejection;
+import com.rafaskoberg.gdx.parrot.TestParrots;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog;
+import com.rafaskoberg.gdx.parrot.backend.recording.AudioCallLog.Call;
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingAudio;
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingParrotBackend;
+import com.rafaskoberg.gdx.parrot.backend.recording.RecordingSound;
+import com.rafaskoberg.gdx.parrot.util.NonRandomShuffle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.rafaskoberg.gdx.parrot.TestParrots.DELTA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SoundPlayerImplTest {
+    private RecordingAudio audio;
+    private AudioCallLog log;
+    private Parrot parrot;
+    private RecordingSound sound;
+    private Category category;
+    private Category spatialCategory;
+
+    @Before
+    public void setUp() {
+        audio = new RecordingAudio();
+        log = audio.getLog();
+        parrot = TestParrots.create(audio);
+        sound = audio.newSound("beep", 1.0f);
+        category = new Category(false);
+        spatialCategory = new Category(true);
+    }
+
+    @Test
+    public void soundsStartOnTheNextUpdate() {
+        Type type = new Type(category, PlaybackMode.NORMAL, sound);
+        long id = parrot.playSound(type);
+        assertTrue(parrot.isSoundValid(id));
+        assertEquals(0, log.count(Call.SOUND_PLAY));
+
+        parrot.update(DELTA);
+        assertEquals(1, log.count(Call.SOUND_PLAY));
+        assertTrue(sound.isPlaying(parrot.getSound(id).getInternalId()));
+    }
+
+    @Test
+    public void oneShotSoundsAreKilledAfterTheirDurationAndFadeOut() {
+        Type type = new Type(category, PlaybackMode.NORMAL, sound);
+        long id = parrot.playSound(type);
+        parrot.update(DELTA);
+        long internalId = parrot.getSound(id).getInternalId();
+
+        TestParrots.update(parrot, 0.5f);
+        assertTrue(parrot.getSound(id).isActive());
+
+        TestParrots.update(parrot, 1.0f + parrot.getSettings().soundDeathFadeOut);
+        assertFalse(parrot.isSoundValid(id));
+        assertEquals(0, parrot.getAllSounds().size);
+        assertTrue(log.lastIndexOf(Call.SOUND_STOP, internalId) != -1);
+    }
+
+    @Test
+    public void expiredSoundsStopCountingAsVoicesRightAway() {
+        Type type = new Type(category, PlaybackMode.NORMAL, sound);
+        type.voices = 2;
+        long first = parrot.playSound(type);
+        TestParrots.update(parrot, 0.5f);
+        long second = parrot.playSound(type);
+
+        // Update until the first sound runs past its duration
+        SoundInstance firstInstance = parrot.getSound(first);
+        while(firstInstance.isActive() && parrot.getSound(first) == firstInstance) {
+            parrot.update(DELTA);
+        }
+        assertTrue(parrot.isSoundValid(first));
+
+        // The expired sound no longer takes a voice
+        long third = parrot.playSound(type);
+        assertTrue(parrot.getSound(second).isActive());
+        assertTrue(parrot.getSound(third).isActive());
+        assertEquals(0, parrot.getMetrics().getVoicesLimited());
+    }
+
+    @Test
+    public void eternalSoundsKeepLooping() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        long id = parrot.playSound(type);
+        TestParrots.update(parrot, 5.0f);
+
+        SoundInstance soundInstance = parrot.getSound(id);
+        assertTrue(soundInstance.isActive());
+        assertEquals(1, log.count(Call.SOUND_LOOP));
+        assertTrue(sound.isPlaying(soundInstance.getInternalId()));
+        assertTrue(sound.isLooping(soundInstance.getInternalId()));
+    }
+
+    @Test
+    public void stoppedSoundsFadeOutBeforeBeingKilled() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        long id = parrot.playSound(type);
+        TestParrots.update(parrot, 0.5f);
+        long internalId = parrot.getSound(id).getInternalId();
+        float volume = sound.getVolume(internalId);
+
+        parrot.stopSound(id);
+        TestParrots.update(parrot, parrot.getSettings().soundDeathFadeOut / 2);
+        assertTrue(sound.getVolume(internalId) < volume);
+        assertTrue(parrot.isSoundValid(id));
+
+        TestParrots.update(parrot, parrot.getSettings().soundDeathFadeOut);
+        assertFalse(parrot.isSoundValid(id));
+        assertFalse(sound.isPlaying(internalId));
+    }
+
+    @Test
+    public void staleIdsAreRejectedAfterTheirSlotIsReused() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        long stale = parrot.playSound(type);
+        parrot.update(DELTA);
+        parrot.killSound(stale);
+        assertFalse(parrot.isSoundValid(stale));
+        assertNull(parrot.getSound(stale));
+
+        // The new sound takes the freed slot, under a different ID
+        long fresh = parrot.playSound(type);
+        parrot.update(DELTA);
+        assertNotEquals(stale, fresh);
+        assertNull(parrot.getSound(stale));
+        assertTrue(parrot.isSoundValid(fresh));
+
+        // Commands through the stale ID don't reach the new sound
+        parrot.stopSound(stale);
+        parrot.killSound(stale);
+        assertTrue(parrot.getSound(fresh).isActive());
+        assertEquals(1, sound.getActiveCount());
+    }
+
+    @Test
+    public void voiceLimitsStopLowerPrioritiesFirst() {
+        Category limitedCategory = new Category(false);
+        limitedCategory.voices = 2;
+        Type low = new Type(limitedCategory, PlaybackMode.ETERNAL, sound);
+        Type high = new Type(limitedCategory, PlaybackMode.ETERNAL, sound);
+        high.priority = 1;
+        long first = parrot.playSound(high);
+        long second = parrot.playSound(low);
+        parrot.update(DELTA);
+
+        long third = parrot.playSound(high);
+        assertTrue(parrot.getSound(first).isActive());
+        assertFalse(parrot.getSound(second).isActive());
+        assertTrue(parrot.getSound(third).isActive());
+        assertEquals(1, parrot.getMetrics().getVoicesLimited());
+    }
+
+    @Test
+    public void voiceLimitsStopTheLeastAudibleSoundsFirst() {
+        Type type = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        type.voices = 2;
+        long far = parrot.playSound(type, 10, 0);
+        long near = parrot.playSound(type, 1, 0);
+        TestParrots.update(parrot, 0.5f);
+        assertTrue(parrot.getSound(far).getScore() < parrot.getSound(near).getScore());
+
+        // The far sound is older, but also quieter
+        long newest = parrot.playSound(type, 1, 0);
+        assertFalse(parrot.getSound(far).isActive());
+        assertTrue(parrot.getSound(near).isActive());
+        assertTrue(parrot.getSound(newest).isActive());
+    }
+
+    @Test
+    public void continuousSoundsAreSharedAndTimeOut() {
+        Type type = new Type(category, PlaybackMode.CONTINUOUS, sound);
+        type.voices = 1;
+        long first = parrot.playSound(type);
+        long second = parrot.playSound(type);
+        assertEquals(first, second);
+
+        // Keep touching it for a while
+        for(int i = 0; i < 60; i++) {
+            parrot.playSound(type);
+            parrot.update(DELTA);
+        }
+        assertTrue(parrot.getSound(first).isActive());
+        assertEquals(1, log.count(Call.SOUND_LOOP));
+
+        // Stop touching it
+        TestParrots.update(parrot, parrot.getSettings().soundContinuousTimeout + parrot.getSettings().soundDeathFadeOut + 0.1f);
+        assertFalse(parrot.isSoundValid(first));
+    }
+
+    @Test
+    public void continuousSoundsMoveTowardsTheNearestListenerAtUpdateTime() {
+        Type type = new Type(spatialCategory, PlaybackMode.CONTINUOUS, sound);
+        parrot.setSpatialListenerCount(2);
+        parrot.setSpatialListenerCoordinates(1, 100, 0);
+        long id = parrot.playSound(type, 95, 0);
+        for(int i = 0; i < 60; i++) {
+            // Positions are set while the first listener is away, and only measured on update
+            parrot.setSpatialListenerCoordinates(0, 0, 0);
+            parrot.playSound(type, 60, 0);
+            parrot.playSound(type, 95, 0);
+            parrot.setSpatialListenerCoordinates(0, -100, 0);
+            parrot.update(DELTA);
+        }
+        assertEquals(95, parrot.getSound(id).getPositionX(), 0.01f);
+        assertEquals(0, parrot.getSound(id).getPositionY(), 0.01f);
+    }
+
+    @Test
+    public void spatialSoundsArePannedAndAttenuatedByDistance() {
+        Type type = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        long near = parrot.playSound(type, 1, 0);
+        long left = parrot.playSound(type, -8, 0);
+        long right = parrot.playSound(type, 8, 0);
+        TestParrots.update(parrot, 0.5f);
+
+        long nearId = parrot.getSound(near).getInternalId();
+        long leftId = parrot.getSound(left).getInternalId();
+        long rightId = parrot.getSound(right).getInternalId();
+        assertTrue(sound.getPan(leftId) < 0);
+        assertTrue(sound.getPan(rightId) > 0);
+        assertTrue(sound.getVolume(rightId) < sound.getVolume(nearId));
+        assertEquals(sound.getVolume(leftId), sound.getVolume(rightId), 0.0001f);
+    }
+
+    @Test
+    public void movingTheListenerUpdatesSpatialSounds() {
+        Type type = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        long id = parrot.playSound(type, 5, 0);
+        TestParrots.update(parrot, 0.5f);
+        long internalId = parrot.getSound(id).getInternalId();
+        assertTrue(sound.getPan(internalId) > 0);
+
+        parrot.setSpatialListenerCoordinates(10, 0);
+        parrot.update(DELTA);
+        assertTrue(sound.getPan(internalId) < 0);
+        assertTrue(log.lastIndexOf(Call.SOUND_SET_PAN, internalId) != -1);
+    }
+
+    @Test
+    public void spatialSoundsArePannedAndAttenuatedByTheirNearestListener() {
+        Type type = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        parrot.setSpatialListenerCount(2);
+        parrot.setSpatialListenerCoordinates(1, 100, 0);
+        long nearFirst = parrot.playSound(type, -6, 0);
+        long nearSecond = parrot.playSound(type, 106, 0);
+        long between = parrot.playSound(type, 50, 0);
+        TestParrots.update(parrot, 0.5f);
+
+        long nearFirstId = parrot.getSound(nearFirst).getInternalId();
+        long nearSecondId = parrot.getSound(nearSecond).getInternalId();
+        assertTrue(sound.getPan(nearFirstId) < 0);
+        assertTrue(sound.getPan(nearSecondId) > 0);
+        assertEquals(sound.getVolume(nearFirstId), sound.getVolume(nearSecondId), 0.0001f);
+        assertTrue(sound.getVolume(nearSecondId) > 0);
+        assertEquals(0, parrot.getSound(between).getCurrentVolume(), 0.0001f);
+
+        // Dropping the second listener leaves its sounds out of range
+        parrot.setSpatialListenerCount(1);
+        parrot.update(DELTA);
+        assertEquals(0, parrot.getSound(nearSecond).getCurrentVolume(), 0.0001f);
+    }
+
+    @Test
+    public void spatialSoundsAreFoundByRadiusAndRegion() {
+        Type spatial = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        Type flat = new Type(category, PlaybackMode.ETERNAL, sound);
+        long origin = parrot.playSound(spatial, 0, 0);
+        long near = parrot.playSound(spatial, 10, 0);
+        long far = parrot.playSound(spatial, 100, 100);
+        parrot.playSound(flat, 0, 0);
+
+        Array<SoundInstance> found = new Array<>();
+        assertEquals(2, parrot.getSoundsInRadius(0, 0, 15, found));
+        assertTrue(found.contains(parrot.getSound(origin), true));
+        assertTrue(found.contains(parrot.getSound(near), true));
+
+        found.clear();
+        assertEquals(1, parrot.getSoundsInRegion(90, 90, 110, 110, found));
+        assertSame(parrot.getSound(far), found.first());
+
+        // Moved and killed sounds are reindexed
+        parrot.setSoundCoordinates(near, 95, 105);
+        parrot.killSound(origin);
+        found.clear();
+        assertEquals(0, parrot.getSoundsInRadius(0, 0, 15, found));
+        assertEquals(2, parrot.getSoundsInRegion(90, 90, 110, 110, found));
+    }
+
+    @Test
+    public void batchedSoundsAreLimitedOnceForTheWholeBatch() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        type.voices = 2;
+        SoundBatch batch = new SoundBatch();
+        for(int i = 0; i < 3; i++) {
+            batch.add(type, 0, 0);
+        }
+        assertEquals(3, parrot.playSounds(batch));
+        assertEquals(1, parrot.getMetrics().getVoicesLimited());
+
+        // The oldest request was limited before ever reaching the backend
+        parrot.update(DELTA);
+        assertFalse(parrot.isSoundValid(batch.getId(0)));
+        assertTrue(parrot.getSound(batch.getId(1)).isActive());
+        assertTrue(parrot.getSound(batch.getId(2)).isActive());
+        assertEquals(2, log.count(Call.SOUND_LOOP));
+        assertEquals(2, sound.getActiveCount());
+    }
+
+    @Test
+    public void nearbyPlaysAreCoalescedWithinTheirWindow() {
+        Type type = new Type(spatialCategory, PlaybackMode.NORMAL, sound);
+        type.coalesceWindow = 0.1f;
+        type.coalesceRadius = 5;
+        long first = parrot.playSound(type, 0, 0);
+        long second = parrot.playSound(type, 2, 0);
+        long distant = parrot.playSound(type, 20, 0);
+        assertEquals(first, second);
+        assertNotEquals(first, distant);
+
+        SoundInstance merged = parrot.getSound(first);
+        assertEquals(2, merged.getCoalescedCount());
+        assertEquals(1, merged.getPositionX(), 0.0001f);
+        assertEquals((float) Math.sqrt(2), merged.getVolumeFactor(), 0.0001f);
+        assertEquals(1, parrot.getMetrics().getPlaysMerged());
+
+        parrot.update(DELTA);
+        assertEquals(2, log.count(Call.SOUND_PLAY));
+
+        // Once the window is over, plays get their own voice
+        TestParrots.update(parrot, 0.2f);
+        assertNotEquals(first, parrot.playSound(type, 0, 0));
+    }
+
+    @Test
+    public void playsAreOnlyCoalescedWithTheSameSoundAndBoomChannel() {
+        RecordingSound other = audio.newSound("boop", 1.0f);
+        Type type = new Type(category, PlaybackMode.NORMAL, sound, other);
+        type.coalesceWindow = 0.1f;
+        long first = parrot.playSound(type, 0, 0, 0, 1, PlaybackMode.NORMAL, -1);
+        assertEquals(first, parrot.playSound(type, 0, 0, 0, 1, PlaybackMode.NORMAL, -1));
+        assertNotEquals(first, parrot.playSound(type, 1, 0, 0, 1, PlaybackMode.NORMAL, -1));
+        assertNotEquals(first, parrot.playSound(type, 0, 0, 0, 1, PlaybackMode.NORMAL, 2));
+        assertEquals(3, parrot.getAllSounds().size);
+    }
+
+    @Test
+    public void virtualVoicesReleaseAndRestoreNativeSources() {
+        parrot.getSettings().soundVirtualVoices = true;
+        Type type = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        long id = parrot.playSound(type, 0, 0);
+        TestParrots.update(parrot, 0.5f);
+        SoundInstance soundInstance = parrot.getSound(id);
+        long internalId = soundInstance.getInternalId();
+
+        // Walk away until it's inaudible
+        parrot.setSpatialListenerCoordinates(1000, 0);
+        parrot.update(DELTA);
+        assertTrue(soundInstance.isVirtual());
+        assertTrue(soundInstance.isValid());
+        assertFalse(sound.isPlaying(internalId));
+
+        // Come back
+        parrot.setSpatialListenerCoordinates(0, 0);
+        parrot.update(DELTA);
+        assertFalse(soundInstance.isVirtual());
+        assertNotEquals(internalId, soundInstance.getInternalId());
+        assertTrue(sound.isPlaying(soundInstance.getInternalId()));
+        assertEquals(2, log.count(Call.SOUND_LOOP));
+    }
+
+    @Test
+    public void oneShotSoundsStayRealOnBackendsThatCantSeek() {
+        parrot.setBackend(new RecordingParrotBackend() {
+            @Override
+            public boolean canSeekSounds() {
+                return false;
+            }
+        });
+        parrot.getSettings().soundVirtualVoices = true;
+        Type oneShot = new Type(spatialCategory, PlaybackMode.NORMAL, sound);
+        Type looping = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        long quietOneShot = parrot.playSound(oneShot, 1000, 0);
+        long quietLooping = parrot.playSound(looping, 1000, 0);
+        parrot.update(DELTA);
+
+        assertFalse(parrot.getSound(quietOneShot).isVirtual());
+        assertTrue(parrot.getSound(quietLooping).isVirtual());
+        assertEquals(1, log.count(Call.SOUND_PLAY));
+
+        // Coming closer makes it audible right away
+        parrot.setSpatialListenerCoordinates(1000, 0);
+        parrot.update(DELTA);
+        assertTrue(sound.getVolume(parrot.getSound(quietOneShot).getInternalId()) > 0);
+    }
+
+    @Test
+    public void voiceBudgetIsNeverExceeded() {
+        RecordingParrotBackend backend = new RecordingParrotBackend();
+        backend.setMaxNativeSources(2);
+        parrot.setBackend(backend);
+        parrot.getSettings().soundVoiceBudget = -1;
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        for(int i = 0; i < 5; i++) {
+            parrot.playSound(type);
+            parrot.update(DELTA);
+            assertTrue(sound.getActiveCount() <= 2);
+        }
+
+        long stolen = parrot.getMetrics().getVoicesStolen();
+        long rejected = parrot.getMetrics().getPlaysRejected(PlayRejection.VOICE_BUDGET);
+        assertEquals(3, stolen + rejected);
+    }
+
+    @Test
+    public void voiceBudgetIsDisabledByDefault() {
+        RecordingParrotBackend backend = new RecordingParrotBackend();
+        backend.setMaxNativeSources(2);
+        parrot.setBackend(backend);
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        for(int i = 0; i < 4; i++) {
+            parrot.playSound(type);
+        }
+        parrot.update(DELTA);
+        assertEquals(4, sound.getActiveCount());
+    }
+
+    @Test
+    public void voiceBudgetStealsSoundsFadingOutFirst() {
+        parrot.getSettings().soundVoiceBudget = 2;
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        long stoppedFirst = parrot.playSound(type);
+        long stoppedSecond = parrot.playSound(type);
+        parrot.update(DELTA);
+        parrot.stopSound(stoppedFirst);
+        parrot.update(DELTA);
+        parrot.stopSound(stoppedSecond);
+
+        long first = parrot.playSound(type);
+        assertFalse(parrot.isSoundValid(stoppedFirst));
+        assertTrue(parrot.isSoundValid(stoppedSecond));
+        long second = parrot.playSound(type);
+        assertFalse(parrot.isSoundValid(stoppedSecond));
+        assertTrue(parrot.getSound(first).isActive());
+        assertTrue(parrot.getSound(second).isActive());
+        assertEquals(2, parrot.getMetrics().getVoicesStolen());
+    }
+
+    @Test
+    public void reservedVoicesCanStealFromMoreImportantCategories() {
+        parrot.getSettings().soundVoiceBudget = 2;
+        Category ui = new Category(false);
+        ui.reservedVoices = 1;
+        Type click = new Type(ui, PlaybackMode.ETERNAL, sound);
+        Type ambience = new Type(category, PlaybackMode.ETERNAL, sound);
+        ambience.priority = 5;
+        long firstAmbience = parrot.playSound(ambience);
+        long secondAmbience = parrot.playSound(ambience);
+        parrot.update(DELTA);
+
+        // Within its reservation, a less important sound still gets a source
+        long firstClick = parrot.playSound(click);
+        assertTrue(parrot.isSoundValid(firstClick));
+        assertFalse(parrot.isSoundValid(firstAmbience) && parrot.isSoundValid(secondAmbience));
+        assertEquals(1, parrot.getMetrics().getVoicesStolen());
+
+        // Beyond it, it can't
+        long secondClick = parrot.playSound(click);
+        assertEquals(-1, secondClick);
+        assertEquals(1, parrot.getMetrics().getPlaysRejected(PlayRejection.VOICE_BUDGET));
+    }
+
+    @Test
+    public void virtualVoicesDontCountTowardsReservations() {
+        parrot.getSettings().soundVoiceBudget = 2;
+        parrot.getSettings().soundVirtualVoices = true;
+        Category reservedCategory = new Category(true);
+        reservedCategory.reservedVoices = 1;
+        Type reserved = new Type(reservedCategory, PlaybackMode.ETERNAL, sound);
+        Type other = new Type(category, PlaybackMode.ETERNAL, sound);
+        Type important = new Type(category, PlaybackMode.ETERNAL, sound);
+        important.priority = 1;
+
+        // The reserved category has a virtual voice and a quiet real one
+        long virtual = parrot.playSound(reserved, 1000, 0);
+        parrot.update(DELTA);
+        long real = parrot.playSound(reserved, 8, 0);
+        long otherId = parrot.playSound(other);
+        parrot.update(DELTA);
+        assertTrue(parrot.getSound(virtual).isVirtual());
+        assertTrue(parrot.getSound(real).getScore() < parrot.getSound(otherId).getScore());
+
+        // Its only real voice is within the reservation, so it isn't stolen despite being the least audible
+        long importantId = parrot.playSound(important);
+        assertTrue(parrot.isSoundValid(importantId));
+        assertTrue(parrot.getSound(real).isActive());
+        assertFalse(parrot.isSoundValid(otherId));
+    }
+
+    @Test
+    public void queuedSoundsArePlayedOnTheNextUpdate() {
+        Type type = new Type(category, PlaybackMode.NORMAL, sound);
+        long ticket = parrot.queuePlaySound(type, 0, 0);
+        assertNotEquals(-1, ticket);
+        assertNull(parrot.getSound(ticket));
+
+        parrot.update(DELTA);
+        assertNotNull(parrot.getSound(ticket));
+        assertEquals(1, log.count(Call.SOUND_PLAY));
+    }
+
+    @Test
+    public void queuedCommandsAreCarriedOutInOrder() {
+        Type type = new Type(spatialCategory, PlaybackMode.ETERNAL, sound);
+        long ticket = parrot.queuePlaySound(type, 0, 0);
+        long killed = parrot.queuePlaySound(type, 0, 0);
+        assertTrue(parrot.queueSoundCoordinates(ticket, 4, 2));
+        assertTrue(parrot.queueKillSound(killed));
+        parrot.update(DELTA);
+
+        SoundInstance soundInstance = parrot.getSound(ticket);
+        assertEquals(4, soundInstance.getPositionX(), 0.0001f);
+        assertEquals(2, soundInstance.getPositionY(), 0.0001f);
+        assertNull(parrot.getSound(killed));
+        assertEquals(1, sound.getActiveCount());
+    }
+
+    @Test
+    public void queuedIdsResolveForAsLongAsTheirSoundLives() {
+        Type looping = new Type(category, PlaybackMode.ETERNAL, sound);
+        Type oneShot = new Type(category, PlaybackMode.NORMAL, sound);
+        long ticket = parrot.queuePlaySound(looping, 0, 0);
+        parrot.update(DELTA);
+        SoundInstance soundInstance = parrot.getSound(ticket);
+        assertSame(soundInstance, parrot.getSound(soundInstance.getId()));
+
+        // Plenty of later queued plays don't evict it
+        int capacity = parrot.getSettings().soundCommandQueueCapacity;
+        for(int i = 0; i < 5; i++) {
+            for(int j = 0; j < capacity; j++) {
+                assertNotEquals(-1, parrot.queuePlaySound(oneShot, 0, 0));
+            }
+            parrot.update(DELTA);
+        }
+        assertSame(soundInstance, parrot.getSound(ticket));
+
+        // So the thread that queued it can still stop it
+        long internalId = soundInstance.getInternalId();
+        assertTrue(parrot.queueKillSound(ticket));
+        parrot.update(DELTA);
+        assertFalse(sound.isPlaying(internalId));
+        assertNull(parrot.getSound(ticket));
+    }
+
+    @Test
+    public void categoryPitchIsAppliedOnTheNextUpdate() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        long id = parrot.playSound(type);
+        parrot.update(DELTA);
+        long internalId = parrot.getSound(id).getInternalId();
+
+        parrot.setSoundCategoryPitchFactor(category, 2);
+        assertEquals(0, log.count(Call.SOUND_SET_PITCH));
+
+        parrot.update(DELTA);
+        assertEquals(1, log.count(Call.SOUND_SET_PITCH));
+        assertEquals(2, sound.getPitch(internalId), 0.0001f);
+    }
+
+    @Test
+    public void durationsSetManuallyOutliveBackendChanges() {
+        RecordingSound unknown = audio.newSound("unknown", 0);
+        Type type = new Type(category, PlaybackMode.NORMAL, unknown);
+        float fallback = parrot.getSettings().soundDurationOnUnsupportedPlatforms;
+        assertEquals(fallback, parrot.getSound(parrot.playSound(type)).getDuration(), 0.0001f);
+
+        parrot.setSoundDuration(unknown, 0.5f);
+        parrot.setBackend(new RecordingParrotBackend());
+        assertEquals(0.5f, parrot.getSound(parrot.playSound(type)).getDuration(), 0.0001f);
+
+        parrot.forgetSound(unknown);
+        assertEquals(fallback, parrot.getSound(parrot.playSound(type)).getDuration(), 0.0001f);
+    }
+
+    @Test
+    public void metricsCountPlaysAndNativeCalls() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        Type continuous = new Type(category, PlaybackMode.CONTINUOUS, sound);
+        Type silent = new Type(category, PlaybackMode.NORMAL);
+        parrot.playSound(type);
+        parrot.playSound(type);
+        parrot.playSound(continuous);
+        parrot.playSound(continuous);
+        assertEquals(-1, parrot.playSound(silent));
+        TestParrots.update(parrot, 0.5f);
+
+        ParrotMetrics metrics = parrot.getMetrics();
+        assertEquals(5, metrics.getPlaysRequested());
+        assertEquals(3, metrics.getPlaysAccepted());
+        assertEquals(1, metrics.getPlaysMerged());
+        assertEquals(1, metrics.getPlaysRejected(PlayRejection.NO_SOUND));
+        assertEquals(1, metrics.getPlaysRejected());
+        assertEquals(3, metrics.getNativeCalls(NativeCall.LOOP));
+        assertEquals(log.count(Call.SOUND_SET_PAN), metrics.getNativeCalls(NativeCall.SET_PAN));
+        assertEquals(3, metrics.getLiveSounds(category));
+
+        parrot.killAllSounds();
+        assertEquals(3, metrics.getNativeCalls(NativeCall.STOP));
+        assertEquals(0, metrics.getLiveSounds(category));
+    }
+
+    @Test
+    public void metricsTimeEverySoundUpdate() {
+        TestParrots.update(parrot, 0.5f);
+        ParrotMetrics.Timing timing = parrot.getMetrics().getSoundUpdateTiming();
+        assertEquals(30, timing.getCount());
+        assertTrue(timing.getMin() <= timing.getAverage());
+        assertTrue(timing.getAverage() <= timing.getMax());
+        assertTrue(timing.getP99() <= timing.getMax());
+    }
+
+    @Test
+    public void killingAllSoundsStopsThemNatively() {
+        Type type = new Type(category, PlaybackMode.ETERNAL, sound);
+        for(int i = 0; i < 4; i++) {
+            parrot.playSound(type);
+        }
+        parrot.update(DELTA);
+        assertEquals(4, sound.getActiveCount());
+
+        parrot.killAllSounds();
+        assertEquals(0, parrot.getAllSounds().size);
+        assertEquals(0, sound.getActiveCount());
+    }
+
+    /**
+     * {@link ParrotSoundCategory} whose limits are changed by each test.
+     */
+    private static class Category implements ParrotSoundCategory {
+        private final boolean spatial;
+        private int voices = 8;
+        private int reservedVoices = 0;
+
+        Category(boolean spatial) {
+            this.spatial = spatial;
+        }
+
+        @Override
+        public int getVoices() {
+            return voices;
+        }
+
+        @Override
+        public int getReservedVoices() {
+            return reservedVoices;
+        }
+
+        @Override
+        public boolean isSpatial() {
+            return spatial;
+        }
+    }
+
+    /**
+     * {@link ParrotSoundType} whose limits are changed by each test. Picks its sounds at random, without any volume or pitch variation.
+     */
+    private static class Type implements ParrotSoundType {
+        private final Array<Sound> sounds;
+        private final Category category;
+        private final PlaybackMode playbackMode;
+        private int voices = 8;
+        private int priority = 0;
+        private float coalesceWindow = 0;
+        private float coalesceRadius = Float.POSITIVE_INFINITY;
+
+        Type(Category category, PlaybackMode playbackMode, Sound... sounds) {
+            this.sounds = new Array<>(sounds);
+            this.category = category;
+            this.playbackMode = playbackMode;
+        }
+
+        @Override
+        public Array<Sound> getSounds() {
+            return sounds;
+        }
+
+        @Override
+        public ParrotSoundCategory getCategory() {
+            return category;
+        }
+
+        @Override
+        public int getVoices() {
+            return voices;
+        }
+
+        @Override
+        public float getPitch() {
+            return 1.0f;
+        }
+
+        @Override
+        public float getPitchVariation() {
+            return 0;
+        }
+
+        @Override
+        public PlaybackMode getPlaybackMode() {
+            return playbackMode;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public float getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        @Override
+        public float getCoalesceRadius() {
+            return coalesceRadius;
+        }
+
+        @Override
+        public NonRandomShuffle<Sound> getNonRandomShuffle() {
+            return null;
+        }
+    }
+
+}